@@ -0,0 +1,96 @@
+package com.georgev22.menuapi.benchmark;
+
+import com.georgev22.menuapi.api.inventory.PageRange;
+import com.georgev22.menuapi.api.inventory.components.IMenuButton;
+import com.georgev22.menuapi.inventory.Menu;
+import com.georgev22.menuapi.inventory.components.MenuButton;
+import com.georgev22.menuapi.listener.ClickRateLimiter;
+import com.georgev22.menuapi.listener.InventoryListener;
+import com.georgev22.menuapi.utilities.SerializableItemStack;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks opening a menu, switching pages and dispatching clicks.
+ * <p>
+ * The menu has six rows: a row of open-ended chrome buttons on every page and 45 content buttons per page.
+ * {@code click} dispatches every click, {@code limitedClick} goes through the default click rate limiter,
+ * which drops nearly all of them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MenuBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int pages;
+
+    private Menu menu;
+    private Player player;
+    private InventoryListener listener;
+    private InventoryListener limitedListener;
+    private InventoryClickEvent click;
+    private int page;
+
+    @Setup
+    public void setup() {
+        Stubs.install();
+        SerializableItemStack item = SerializableItemStack.fromItemStack(new ItemStack(Material.STONE), BigInteger.ONE);
+        List<IMenuButton> buttons = new ArrayList<>();
+        for (int slot = 45; slot < 54; slot++) {
+            buttons.add(new MenuButton(item, slot, new PageRange(1, -1)));
+        }
+        for (int page = 1; page <= this.pages; page++) {
+            for (int slot = 0; slot < 45; slot++) {
+                buttons.add(new MenuButton(item, slot, new PageRange(page, page)));
+            }
+        }
+        this.menu = new Menu(6, -1, buttons);
+        this.player = Stubs.player("Benchmark");
+        this.listener = new InventoryListener(null);
+        this.limitedListener = new InventoryListener(new ClickRateLimiter());
+        this.menu.open(this.player, 1, menu -> {
+        }, view -> {
+        });
+        this.click = Stubs.click(this.player, 22);
+        this.page = 1;
+    }
+
+    @Benchmark
+    public Menu open() {
+        this.menu.open(this.player, this.pages, menu -> {
+        }, view -> {
+        });
+        return this.menu;
+    }
+
+    @Benchmark
+    public int setPage() {
+        this.page = this.page == this.pages ? 1 : this.page + 1;
+        this.menu.setPage(this.player, this.page);
+        return this.page;
+    }
+
+    @Benchmark
+    public InventoryClickEvent click() {
+        this.listener.onInventoryClick(this.click);
+        return this.click;
+    }
+
+    @Benchmark
+    public InventoryClickEvent limitedClick() {
+        this.limitedListener.onInventoryClick(this.click);
+        return this.click;
+    }
+}
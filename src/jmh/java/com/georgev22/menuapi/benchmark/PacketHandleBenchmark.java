@@ -0,0 +1,115 @@
+package com.georgev22.menuapi.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the getHandle, connection and send chain used by {@code ReflectionUtils#sendPacketSync}.
+ * <p>
+ * Without a server there are no NMS classes, so stand-in classes with the same shape are used.
+ * {@code invoke} is the previous path: generic handles invoked with {@link MethodHandle#invoke(Object...)}.
+ * {@code invokeExact} is the current path: handles adapted to erased types, with the getter chain
+ * fused into one handle, invoked with {@link MethodHandle#invokeExact(Object...)}.
+ * {@code direct} is the lower bound of plain method calls.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketHandleBenchmark {
+
+    private static final MethodHandle GET_HANDLE;
+    private static final MethodHandle PLAYER_CONNECTION;
+    private static final MethodHandle SEND_PACKET;
+
+    private static final MethodHandle EXACT_GET_CONNECTION;
+    private static final MethodHandle EXACT_SEND_PACKET;
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            GET_HANDLE = lookup.findVirtual(CraftPlayer.class, "getHandle", MethodType.methodType(EntityPlayer.class));
+            PLAYER_CONNECTION = lookup.findGetter(EntityPlayer.class, "connection", PlayerConnection.class);
+            SEND_PACKET = lookup.findVirtual(PlayerConnection.class, "send", MethodType.methodType(void.class, Packet.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+
+        EXACT_GET_CONNECTION = MethodHandles.filterReturnValue(
+                GET_HANDLE.asType(MethodType.methodType(Object.class, Object.class)),
+                PLAYER_CONNECTION.asType(MethodType.methodType(Object.class, Object.class))
+        );
+        EXACT_SEND_PACKET = SEND_PACKET.asType(MethodType.methodType(void.class, Object.class, Object.class));
+    }
+
+    private Object player;
+    private Object[] packets;
+
+    @Setup
+    public void setup() {
+        this.player = new CraftPlayer(new EntityPlayer(new PlayerConnection()));
+        this.packets = new Object[]{new Packet()};
+    }
+
+    @Benchmark
+    public int invoke() throws Throwable {
+        Object handle = GET_HANDLE.invoke(this.player);
+        Object connection = PLAYER_CONNECTION.invoke(handle);
+        for (Object packet : this.packets) SEND_PACKET.invoke(connection, packet);
+        return ((PlayerConnection) connection).sent;
+    }
+
+    @Benchmark
+    public int invokeExact() throws Throwable {
+        Object connection = (Object) EXACT_GET_CONNECTION.invokeExact(this.player);
+        for (Object packet : this.packets) EXACT_SEND_PACKET.invokeExact(connection, packet);
+        return ((PlayerConnection) connection).sent;
+    }
+
+    @Benchmark
+    public int direct() {
+        PlayerConnection connection = ((CraftPlayer) this.player).getHandle().connection;
+        for (Object packet : this.packets) connection.send((Packet) packet);
+        return connection.sent;
+    }
+
+    public static final class CraftPlayer {
+
+        private final EntityPlayer handle;
+
+        CraftPlayer(EntityPlayer handle) {
+            this.handle = handle;
+        }
+
+        public EntityPlayer getHandle() {
+            return this.handle;
+        }
+    }
+
+    public static final class EntityPlayer {
+
+        public final PlayerConnection connection;
+
+        EntityPlayer(PlayerConnection connection) {
+            this.connection = connection;
+        }
+    }
+
+    public static final class PlayerConnection {
+
+        private int sent;
+
+        public void send(Packet packet) {
+            this.sent++;
+        }
+    }
+
+    public static final class Packet {
+    }
+}
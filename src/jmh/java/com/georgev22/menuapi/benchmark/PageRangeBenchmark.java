@@ -0,0 +1,55 @@
+package com.georgev22.menuapi.benchmark;
+
+import com.georgev22.menuapi.api.inventory.PageRange;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks filtering page ranges of a menu for a single page, as done when building a page.
+ * <p>
+ * Every tenth range is open-ended, the others span a single page.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageRangeBenchmark {
+
+    @Param({"54", "500", "2000"})
+    public int ranges;
+
+    private List<PageRange> pageRanges;
+    private int page;
+
+    @Setup
+    public void setup() {
+        this.pageRanges = new ArrayList<>(this.ranges);
+        for (int i = 0; i < this.ranges; i++) {
+            int page = i / 45 + 1;
+            this.pageRanges.add(i % 10 == 0 ? new PageRange(page, -1) : new PageRange(page, page));
+        }
+        this.page = this.ranges / 90 + 1;
+    }
+
+    @Benchmark
+    public void loop(Blackhole blackhole) {
+        for (PageRange pageRange : this.pageRanges) {
+            if (pageRange.isPageInRange(this.page)) {
+                blackhole.consume(pageRange);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<PageRange> stream() {
+        return this.pageRanges.stream()
+                .filter(pageRange -> pageRange.isPageInRange(this.page))
+                .toList();
+    }
+}
@@ -0,0 +1,126 @@
+package com.georgev22.menuapi.benchmark;
+
+import com.georgev22.menuapi.exceptions.SerializerException;
+import com.georgev22.menuapi.utilities.ItemStackCache;
+import com.georgev22.menuapi.utilities.SerializableItemStack;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Benchmarks the textual and binary round-trips of {@link SerializableItemStack}.
+ * <p>
+ * Without a server the NBT of an ItemStack can not be parsed, so the items are read lazily and written back
+ * untouched. This measures the parts owned by MenuAPI (parsing, escaping, caching and framing), not NBT-API.
+ * <p>
+ * The fixtures are written by {@link SerializableItemStack#toString()} and {@link SerializableItemStack#toByteBuffer()}.
+ * Their ItemStack is the same item as SNBT for the textual format and as compressed binary NBT for the binary one,
+ * the payloads NBT-API reads in each format.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializableItemStackBenchmark {
+
+    private static final String ITEM_SNBT = "{Count:1b,id:\"minecraft:diamond_sword\",tag:{Damage:0,Enchantments:[{id:\"minecraft:sharpness\",lvl:5s}]}}";
+
+    @Param({"0", "4096"})
+    public int cacheSize;
+
+    private String text;
+    private byte[] binary;
+
+    @Setup
+    public void setup() throws IOException, SerializerException {
+        ItemStackCache.setMaximumSize(this.cacheSize);
+        SerializableItemStack textItem = SerializableItemStack.fromNBT(
+                "{\"itemStack\":\"" + ITEM_SNBT.replace("\\", "\\\\").replace("\"", "\\\"") + "\"}", true);
+        this.text = customize(textItem).toString();
+
+        SerializableItemStack binaryItem = SerializableItemStack.fromByteBuffer(ByteBuffer.wrap(frame(itemNBT())), true);
+        ByteBuffer buffer = customize(binaryItem).toByteBuffer();
+        this.binary = new byte[buffer.remaining()];
+        buffer.get(this.binary);
+    }
+
+    private static SerializableItemStack customize(SerializableItemStack itemStack) {
+        return itemStack.setAmount(BigInteger.valueOf(64)).addData("shop", "weapons");
+    }
+
+    /**
+     * Frames a payload as the smallest binary SerializableItemStack: one ItemStack, an amount of 0 and no data.
+     * The amount and the data of the fixture are then written by {@link SerializableItemStack#toByteBuffer()}.
+     */
+    private static byte[] frame(byte[] payload) {
+        if (payload.length > 0x7F) {
+            throw new IllegalStateException("The payload must fit a single byte length (Length = " + payload.length + ")");
+        }
+        byte[] frame = new byte[payload.length + 5];
+        frame[0] = 1; // version
+        frame[1] = 0x01; // the visual ItemStack is the ItemStack
+        frame[2] = (byte) payload.length;
+        System.arraycopy(payload, 0, frame, 3, payload.length);
+        return frame;
+    }
+
+    /**
+     * Writes {@link #ITEM_SNBT} as compressed binary NBT, as {@code ReadWriteNBT#writeCompound} does.
+     */
+    private static byte[] itemNBT() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            output.writeByte(10);
+            output.writeUTF("");
+            tag(output, 1, "Count").writeByte(1);
+            tag(output, 8, "id").writeUTF("minecraft:diamond_sword");
+            tag(output, 10, "tag");
+            tag(output, 3, "Damage").writeInt(0);
+            tag(output, 9, "Enchantments").writeByte(10);
+            output.writeInt(1);
+            tag(output, 8, "id").writeUTF("minecraft:sharpness");
+            tag(output, 2, "lvl").writeShort(5);
+            output.writeByte(0);
+            output.writeByte(0);
+            output.writeByte(0);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static DataOutputStream tag(DataOutputStream output, int type, String name) throws IOException {
+        output.writeByte(type);
+        output.writeUTF(name);
+        return output;
+    }
+
+    @TearDown
+    public void tearDown() {
+        ItemStackCache.setMaximumSize(ItemStackCache.DEFAULT_MAXIMUM_SIZE);
+    }
+
+    @Benchmark
+    public SerializableItemStack fromNBT() throws SerializerException {
+        return SerializableItemStack.fromNBT(this.text, true);
+    }
+
+    @Benchmark
+    public String textRoundTrip() throws SerializerException {
+        return SerializableItemStack.fromNBT(this.text, true).toString();
+    }
+
+    @Benchmark
+    public SerializableItemStack read() throws SerializerException {
+        return SerializableItemStack.fromByteBuffer(ByteBuffer.wrap(this.binary), true);
+    }
+
+    @Benchmark
+    public ByteBuffer binaryRoundTrip() throws SerializerException {
+        return SerializableItemStack.fromByteBuffer(ByteBuffer.wrap(this.binary), true).toByteBuffer();
+    }
+}
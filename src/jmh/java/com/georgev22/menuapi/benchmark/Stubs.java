@@ -0,0 +1,196 @@
+package com.georgev22.menuapi.benchmark;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.InventoryView;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * Minimal in-memory Bukkit implementations, just enough to drive the menu code outside a server.
+ * <p>
+ * Everything is backed by {@link Proxy}; methods that are not implemented return the default value of their type.
+ */
+public final class Stubs {
+
+    private Stubs() {
+    }
+
+    /**
+     * Installs the stub server, if no server has been installed yet.
+     */
+    public static synchronized void install() {
+        if (Bukkit.getServer() != null) {
+            return;
+        }
+        Logger logger = Logger.getLogger("MenuAPI-Benchmark");
+        Bukkit.setServer(proxy(Server.class, (proxy, method, args) -> switch (method.getName()) {
+            case "createInventory" -> inventory((InventoryHolder) args[0], (Integer) args[1]);
+            case "getLogger" -> logger;
+            case "getName" -> "Stub";
+            case "getVersion", "getBukkitVersion", "getMinecraftVersion" -> "1.20.4-R0.1-SNAPSHOT";
+            case "isPrimaryThread" -> true;
+            default -> defaultValue(proxy, method, args);
+        }));
+    }
+
+    /**
+     * Creates a stub player.
+     *
+     * @param name the name of the player.
+     * @return the player.
+     */
+    public static @NotNull Player player(@NotNull String name) {
+        UUID uuid = UUID.nameUUIDFromBytes(name.getBytes());
+        InventoryView[] openInventory = new InventoryView[1];
+        Player[] self = new Player[1];
+        self[0] = proxy(Player.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getUniqueId" -> uuid;
+            case "getName" -> name;
+            case "openInventory" -> {
+                if (args[0] instanceof Inventory inventory) {
+                    openInventory[0] = view(self[0], inventory);
+                    yield openInventory[0];
+                }
+                yield null;
+            }
+            case "getOpenInventory" -> openInventory[0] != null ? openInventory[0] : view(self[0], inventory(null, 36));
+            case "closeInventory" -> {
+                openInventory[0] = null;
+                yield null;
+            }
+            case "isOnline" -> true;
+            default -> defaultValue(proxy, method, args);
+        });
+        return self[0];
+    }
+
+    /**
+     * Creates a click event on the given slot of the player's open inventory.
+     *
+     * @param player the clicking player.
+     * @param slot   the clicked slot.
+     * @return the event.
+     */
+    public static @NotNull InventoryClickEvent click(@NotNull Player player, int slot) {
+        return new InventoryClickEvent(player.getOpenInventory(), InventoryType.SlotType.CONTAINER, slot, ClickType.LEFT, InventoryAction.PICKUP_ALL);
+    }
+
+    /**
+     * Creates a stub inventory.
+     *
+     * @param holder the holder of the inventory.
+     * @param size   the size of the inventory.
+     * @return the inventory.
+     */
+    public static @NotNull Inventory inventory(InventoryHolder holder, int size) {
+        ItemStack[] contents = new ItemStack[size];
+        return proxy(Inventory.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getSize" -> size;
+            case "getItem" -> contents[(Integer) args[0]];
+            case "setItem" -> {
+                contents[(Integer) args[0]] = (ItemStack) args[1];
+                yield null;
+            }
+            case "clear" -> {
+                if (args == null || args.length == 0) {
+                    Arrays.fill(contents, null);
+                } else {
+                    contents[(Integer) args[0]] = null;
+                }
+                yield null;
+            }
+            case "getContents", "getStorageContents" -> contents.clone();
+            case "getHolder" -> holder;
+            case "getType" -> InventoryType.CHEST;
+            case "getViewers" -> List.of();
+            default -> defaultValue(proxy, method, args);
+        });
+    }
+
+    private static @NotNull InventoryView view(Player player, Inventory top) {
+        Inventory bottom = inventory(null, 36);
+        return new InventoryView() {
+            private String title = "";
+
+            @Override
+            public @NotNull Inventory getTopInventory() {
+                return top;
+            }
+
+            @Override
+            public @NotNull Inventory getBottomInventory() {
+                return bottom;
+            }
+
+            @Override
+            public @NotNull HumanEntity getPlayer() {
+                return player;
+            }
+
+            @Override
+            public @NotNull InventoryType getType() {
+                return InventoryType.CHEST;
+            }
+
+            @Override
+            public @NotNull String getTitle() {
+                return this.title;
+            }
+
+            @Override
+            public @NotNull String getOriginalTitle() {
+                return "";
+            }
+
+            @Override
+            public void setTitle(@NotNull String title) {
+                this.title = title;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(Stubs.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object defaultValue(Object proxy, @NotNull Method method, Object[] args) {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return method.getDeclaringClass().getSimpleName() + "Stub@" + Integer.toHexString(System.identityHashCode(proxy));
+            default:
+                break;
+        }
+        Class<?> type = method.getReturnType();
+        if (!type.isPrimitive() || type == void.class) return null;
+        if (type == boolean.class) return false;
+        if (type == char.class) return '\0';
+        if (type == long.class) return 0L;
+        if (type == float.class) return 0F;
+        if (type == double.class) return 0D;
+        if (type == byte.class) return (byte) 0;
+        if (type == short.class) return (short) 0;
+        return 0;
+    }
+}
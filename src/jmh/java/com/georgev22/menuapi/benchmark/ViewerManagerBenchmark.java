@@ -0,0 +1,60 @@
+package com.georgev22.menuapi.benchmark;
+
+import com.georgev22.menuapi.api.inventory.Viewer;
+import com.georgev22.menuapi.api.inventory.ViewerManager;
+import com.georgev22.menuapi.inventory.Menu;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks viewer lookups with a varying number of viewers on a single menu.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ViewerManagerBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    public int viewers;
+
+    private Menu menu;
+    private Player last;
+
+    @Setup
+    public void setup() {
+        this.menu = new Menu(6, 1, List.of());
+        for (int i = 0; i < this.viewers; i++) {
+            this.last = Stubs.player("Viewer" + i);
+            ViewerManager.addViewer(this.menu, new Viewer(this.last));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (Viewer viewer : ViewerManager.getViewers(this.menu)) {
+            ViewerManager.removeViewer(this.menu, viewer);
+        }
+    }
+
+    @Benchmark
+    public Viewer getViewer() {
+        return ViewerManager.getViewer(this.menu, this.last);
+    }
+
+    @Benchmark
+    public int getPage() {
+        return this.menu.getPage(this.last);
+    }
+
+    @Benchmark
+    public Set<Menu> getMenus() {
+        return ViewerManager.getMenus(this.last);
+    }
+}
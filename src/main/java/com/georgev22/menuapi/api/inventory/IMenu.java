@@ -4,6 +4,7 @@ import com.georgev22.menuapi.api.inventory.components.IMenuButton;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.InventoryView;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
 
 import java.util.List;
@@ -26,6 +27,27 @@ public interface IMenu {
      */
     void setButtons(@NotNull List<IMenuButton> buttons);
 
+    /**
+     * Moves a button of this menu to another slot.
+     * <p>
+     * Use this instead of {@link IMenuButton#setSlot(int)} for buttons that are already part of the menu,
+     * so the menu's slot index stays in sync with the button.
+     *
+     * @param button the {@link IMenuButton} to be moved.
+     * @param slot   the new slot of the button.
+     */
+    void setSlot(@NotNull IMenuButton button, int slot);
+
+    /**
+     * Retrieves the button at the given slot of the page the player is currently viewing.
+     *
+     * @param player the {@link Player} whose current page will be used.
+     * @param slot   the slot of the button.
+     * @return the {@link IMenuButton} at the given slot, or {@code null} if there is none.
+     */
+    @Nullable
+    IMenuButton getButton(@NotNull Player player, int slot);
+
     /**
      * Opens the menu for a specific player on a given page.
      * <p>Example:</p>
@@ -46,6 +68,38 @@ public interface IMenu {
      */
     void open(@NotNull Player player, int page, Consumer<IMenu> menuConsumer, Consumer<InventoryView> inventoryConsumer);
 
+    /**
+     * Switches the page the player is viewing without reopening the menu.
+     * <p>
+     * The player's open inventory is reused and only the slots whose button differs between the current
+     * and the new page are written, so the window is not closed and the cursor is kept.
+     * If the player does not have this menu open, the menu is opened on the given page instead.
+     *
+     * @param player the {@link Player} whose page will be switched.
+     * @param page   the page number to switch to.
+     */
+    void setPage(@NotNull Player player, int page);
+
+    /**
+     * Writes the current item of a button into every open inventory showing it.
+     * <p>
+     * Call this after changing the item of a button that is already displayed.
+     * For a shared menu this is a single write per page, regardless of the number of viewers.
+     *
+     * @param button the {@link IMenuButton} to be updated.
+     */
+    void updateButton(@NotNull IMenuButton button);
+
+    /**
+     * Re-renders the per-player buttons of the page the player is viewing.
+     * <p>
+     * Only template buttons whose placeholders resolve to different values than the last time they were
+     * rendered for the player are written again.
+     *
+     * @param player the {@link Player} whose buttons will be refreshed.
+     */
+    void refresh(@NotNull Player player);
+
     /**
      * Closes the menu for all players.
      */
@@ -65,6 +119,17 @@ public interface IMenu {
      */
     void setTitle(@NotNull Player player, @NotNull String title);
 
+    /**
+     * Schedules a title update of the menu for the next tick.
+     * <p>
+     * Title updates scheduled for the same player within a tick are coalesced, and only the last one is sent.
+     * Use this instead of {@link #setTitle(Player, String)} for titles that change often, such as countdowns.
+     *
+     * @param player the {@link Player} whose title will be updated.
+     * @param title  the title to be set in the menu for the specified player.
+     */
+    void scheduleTitle(@NotNull Player player, @NotNull String title);
+
     /**
      * Retrieves the title of the menu.
      *
@@ -110,5 +175,26 @@ public interface IMenu {
      */
     void setPages(int pages);
 
+    /**
+     * Checks whether the menu is shared.
+     *
+     * @return {@code true} if all viewers of a page share a single inventory.
+     * @see #setShared(boolean)
+     */
+    boolean isShared();
+
+    /**
+     * Sets whether the menu is shared.
+     * <p>
+     * In a shared menu, all viewers of a page are attached to a single inventory instead of one inventory per player,
+     * so identical content is allocated and written once. Pages, clicks and titles are still tracked per player,
+     * but every item written into the inventory is seen by every viewer of the page.
+     * <p>
+     * The mode applies to menus opened afterward.
+     *
+     * @param shared {@code true} to share the inventories of the menu.
+     */
+    void setShared(boolean shared);
+
 
 }
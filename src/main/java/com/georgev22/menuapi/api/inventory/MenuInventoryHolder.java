@@ -5,6 +5,7 @@ import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryHolder;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Represents a Menu inventory holder.
@@ -14,13 +15,24 @@ public class MenuInventoryHolder implements InventoryHolder {
     private final IMenu menu;
     private final Player player;
     private final Inventory inventory;
+    private volatile String title;
 
     /**
-     * Create a new menu inventory holder.
+     * Create a new shared menu inventory holder, whose inventory is shown to many players.
      *
      * @param menu The Menu.
      */
-    public MenuInventoryHolder(@NotNull IMenu menu, Player player) {
+    public MenuInventoryHolder(@NotNull IMenu menu) {
+        this(menu, null);
+    }
+
+    /**
+     * Create a new menu inventory holder.
+     *
+     * @param menu   The Menu.
+     * @param player The player, or {@code null} for a shared inventory.
+     */
+    public MenuInventoryHolder(@NotNull IMenu menu, @Nullable Player player) {
         this.menu = menu;
         this.player = player;
         this.inventory = Bukkit.createInventory(this, this.menu.getRows() * 9);
@@ -40,11 +52,33 @@ public class MenuInventoryHolder implements InventoryHolder {
      * Get the object's player.
      *
      * @return The player.
+     * @throws IllegalStateException if the inventory is shared, see {@link #getViewerPlayer()}.
      */
     public @NotNull Player getPlayer() {
+        if (this.player == null) {
+            throw new IllegalStateException("A shared inventory has no player");
+        }
         return this.player;
     }
 
+    /**
+     * Get the object's player, if the inventory belongs to a single player.
+     *
+     * @return The player, or {@code null} if the inventory is shared.
+     */
+    public @Nullable Player getViewerPlayer() {
+        return this.player;
+    }
+
+    /**
+     * Check whether the inventory is shared between players.
+     *
+     * @return {@code true} if the inventory is shared.
+     */
+    public boolean isShared() {
+        return this.player == null;
+    }
+
     /**
      * Get the object's inventory.
      *
@@ -54,4 +88,27 @@ public class MenuInventoryHolder implements InventoryHolder {
     public @NotNull Inventory getInventory() {
         return this.inventory;
     }
+
+    /**
+     * Get the title last shown for this inventory.
+     * <p>
+     * Titles are per player, so this is always {@code null} for a shared inventory.
+     *
+     * @return The title, or {@code null} if it is not known yet.
+     */
+    public @Nullable String getTitle() {
+        return this.title;
+    }
+
+    /**
+     * Set the title last shown for this inventory.
+     * <p>
+     * This only records the title, use {@link IMenu#setTitle(Player, String)} to change it.
+     *
+     * @param title The title.
+     */
+    public void setTitle(@Nullable String title) {
+        if (isShared()) return;
+        this.title = title;
+    }
 }
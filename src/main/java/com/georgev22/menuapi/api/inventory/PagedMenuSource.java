@@ -0,0 +1,62 @@
+package com.georgev22.menuapi.api.inventory;
+
+import com.georgev22.menuapi.api.inventory.components.IMenuButton;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Produces the buttons of a menu one page at a time.
+ * <p>
+ * A menu backed by a source only asks for the pages its viewers look at, plus the pages next to them,
+ * so the buttons and ItemStacks of a large catalog are never built all at once. The buttons returned for a page
+ * are placed by their slot only, their {@link com.georgev22.menuapi.api.inventory.PageRange} is ignored.
+ * The static buttons of the menu are displayed on every page, below the buttons of the source.
+ * <p>
+ * {@link com.georgev22.menuapi.inventory.Menu} calls {@link #getButtons(int)} on the executor of
+ * {@link com.georgev22.menuapi.utilities.MenuExecutors}, never on the server thread, so it may block, for example on
+ * a database query, and must be thread-safe. Until the buttons of a page arrive, its viewers see the static buttons only.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * Menu menu = new Menu(6, new PagedMenuSource() {
+ *     @Override
+ *     public List<IMenuButton> getButtons(int page) {
+ *         List<Listing> listings = auctionHouse.getListings((page - 1) * 45, 45);
+ *         List<IMenuButton> buttons = new ArrayList<>(listings.size());
+ *         for (int i = 0; i < listings.size(); i++) {
+ *             buttons.add(new ListingButton(listings.get(i), i));
+ *         }
+ *         return buttons;
+ *     }
+ *
+ *     @Override
+ *     public int getPageCount() {
+ *         return Math.max(1, (auctionHouse.getListingCount() + 44) / 45);
+ *     }
+ * });
+ * }</pre>
+ */
+public interface PagedMenuSource {
+
+    /**
+     * Produces the buttons of a page.
+     * <p>
+     * Called in the background, possibly for several pages at once. A thrown exception is logged and the page
+     * is fetched again the next time it is needed.
+     *
+     * @param page the page, starting at 1.
+     * @return the buttons of the page.
+     */
+    @NotNull
+    List<IMenuButton> getButtons(int page);
+
+    /**
+     * Retrieves the number of pages.
+     * <p>
+     * Called whenever a page is opened or switched to, so it should be cheap.
+     *
+     * @return the number of pages, or -1 if there is no page maximum.
+     */
+    int getPageCount();
+}
@@ -10,34 +10,51 @@ import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.UnmodifiableView;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages the viewers for various menus in the Menu API.
+ * <p>
+ * Viewers are indexed by menu and player {@link UUID}, and every player keeps a reverse index of the menus
+ * they are viewing, so looking up a viewer, the menus of a player or cleaning up after a player
+ * does not depend on the number of viewers.
+ * <p>
+ * Every change runs inside {@code menus.compute} for the player, which serializes the changes of a player,
+ * so the viewers and the reverse index can not diverge.
  */
 public class ViewerManager {
 
-    private static final ObjectMap<Menu, List<Viewer>> viewers = new ConcurrentObjectMap<>();
+    private static final ObjectMap<Menu, ObjectMap<UUID, Viewer>> viewers = new ConcurrentObjectMap<>();
+    private static final ObjectMap<UUID, Set<Menu>> menus = new ConcurrentObjectMap<>();
 
     /**
      * Adds a viewer to the specified menu.
+     * <p>
+     * If the player already has a viewer in the menu, it is replaced.
      *
      * @param menu   the menu to which the viewer is to be added
      * @param viewer the viewer to be added
      */
     public static @NotNull Viewer addViewer(Menu menu, Viewer viewer) {
-        List<Viewer> viewerList = viewers.computeIfAbsent(menu, k -> new ArrayList<>());
-        if (!viewerList.contains(viewer)) {
-            viewerList.add(viewer);
-        } else {
-            int index = viewerList.indexOf(viewer);
-            if (index != -1) {
-                viewerList.set(index, viewer);
+        UUID uuid = viewer.getPlayer().getUniqueId();
+        menus.compute(uuid, (key, playerMenus) -> {
+            viewers.compute(menu, (menuKey, menuViewers) -> {
+                if (menuViewers == null) {
+                    menuViewers = new ConcurrentObjectMap<>();
+                }
+                menuViewers.put(uuid, viewer);
+                return menuViewers;
+            });
+            if (playerMenus == null) {
+                playerMenus = ConcurrentHashMap.newKeySet();
             }
-        }
-
+            playerMenus.add(menu);
+            return playerMenus;
+        });
         return viewer;
     }
 
@@ -48,10 +65,38 @@ public class ViewerManager {
      * @param viewer the viewer to be removed
      */
     public static void removeViewer(Menu menu, Viewer viewer) {
-        List<Viewer> viewerList = viewers.get(menu);
-        if (viewerList != null) {
-            viewerList.remove(viewer);
-        }
+        UUID uuid = viewer.getPlayer().getUniqueId();
+        menus.compute(uuid, (key, playerMenus) -> {
+            boolean[] removed = new boolean[1];
+            viewers.computeIfPresent(menu, (menuKey, menuViewers) -> {
+                removed[0] = menuViewers.remove(uuid, viewer);
+                return menuViewers.isEmpty() ? null : menuViewers;
+            });
+            if (removed[0] && playerMenus != null) {
+                playerMenus.remove(menu);
+            }
+            return playerMenus == null || playerMenus.isEmpty() ? null : playerMenus;
+        });
+    }
+
+    /**
+     * Removes the player from every menu they are viewing.
+     * <p>
+     * This should be called when the player leaves the server.
+     *
+     * @param player the player whose viewers are to be removed
+     */
+    public static void removeViewers(@NotNull Player player) {
+        UUID uuid = player.getUniqueId();
+        menus.computeIfPresent(uuid, (key, playerMenus) -> {
+            for (Menu menu : playerMenus) {
+                viewers.computeIfPresent(menu, (menuKey, menuViewers) -> {
+                    menuViewers.remove(uuid);
+                    return menuViewers.isEmpty() ? null : menuViewers;
+                });
+            }
+            return null;
+        });
     }
 
     /**
@@ -62,15 +107,20 @@ public class ViewerManager {
      * @return the viewer associated with the given menu and player, or null if no such viewer exists
      */
     public static Viewer getViewer(Menu menu, Player player) {
-        List<Viewer> viewerList = viewers.get(menu);
-        if (viewerList != null) {
-            for (Viewer viewer : viewerList) {
-                if (viewer.getPlayer().equals(player)) {
-                    return viewer;
-                }
-            }
-        }
-        return null;
+        ObjectMap<UUID, Viewer> menuViewers = viewers.get(menu);
+        return menuViewers != null ? menuViewers.get(player.getUniqueId()) : null;
+    }
+
+    /**
+     * Retrieves the menus the specified player is viewing.
+     *
+     * @param player the player whose menus are to be retrieved
+     * @return the menus of the given player, or an empty set if the player is not viewing any menu
+     */
+    @UnmodifiableView
+    public static @NotNull Set<Menu> getMenus(@NotNull Player player) {
+        Set<Menu> playerMenus = menus.get(player.getUniqueId());
+        return playerMenus != null ? Collections.unmodifiableSet(playerMenus) : Collections.emptySet();
     }
 
     /**
@@ -81,7 +131,8 @@ public class ViewerManager {
      */
     @UnmodifiableView
     public static List<Viewer> getViewers(Menu menu) {
-        return Collections.unmodifiableList(viewers.getOrDefault(menu, new ArrayList<>()));
+        ObjectMap<UUID, Viewer> menuViewers = viewers.get(menu);
+        return menuViewers != null ? List.copyOf(menuViewers.values()) : Collections.emptyList();
     }
 
     /**
@@ -93,7 +144,7 @@ public class ViewerManager {
     @UnmodifiableView
     public static @NotNull UnmodifiableObjectMap<Menu, List<Viewer>> getViewers() {
         ObjectMap<Menu, List<Viewer>> unmodifiableViewers = new HashObjectMap<>();
-        viewers.forEach((key, value) -> unmodifiableViewers.put(key, Collections.unmodifiableList(value)));
+        viewers.forEach((key, value) -> unmodifiableViewers.put(key, List.copyOf(value.values())));
         return new UnmodifiableObjectMap<>(unmodifiableViewers);
     }
 
@@ -41,6 +41,9 @@ public interface IMenuButton {
 
     /**
      * Sets the slot of the button.
+     * <p>
+     * If the button is already part of a menu, use {@link com.georgev22.menuapi.api.inventory.IMenu#setSlot(IMenuButton, int)}
+     * so the menu's slot index is updated as well.
      *
      * @param slot The slot to be set.
      */
@@ -1,7 +1,12 @@
 package com.georgev22.menuapi.exceptions;
 
+import java.io.Serial;
+
 public class SerializerException extends Exception {
 
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     public SerializerException(String message) {
         super(message);
     }
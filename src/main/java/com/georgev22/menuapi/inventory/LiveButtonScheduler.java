@@ -0,0 +1,226 @@
+package com.georgev22.menuapi.inventory;
+
+import com.georgev22.menuapi.api.inventory.Viewer;
+import com.georgev22.menuapi.api.inventory.ViewerManager;
+import com.georgev22.menuapi.api.inventory.components.IMenuButton;
+import com.georgev22.menuapi.inventory.components.LiveMenuButton;
+import com.georgev22.menuapi.utilities.SerializableItemStack;
+import org.bukkit.Bukkit;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Updates the {@link LiveMenuButton}s of open menus from a single task, within a time budget per tick.
+ *
+ * <p>Every tick, the scheduler collects the live buttons that are due on the pages someone is currently viewing,
+ * and updates them until the budget of the tick is spent. Buttons left over are updated on the following ticks
+ * before new ones are collected, so the cost of many animated menus is spread across ticks instead of
+ * piling up in a single one. A changed button is pushed through {@link Menu#updateButton(IMenuButton)}, so only
+ * the slots showing it are written, once per shared inventory.
+ * </p>
+ *
+ * <p>Menus register themselves when they are opened with live buttons, and are dropped once nobody views them.
+ * The task only runs while there are registered menus or pending updates: it cancels itself once both are gone and
+ * is started again by the next registration. Everything runs on the main thread.
+ * </p>
+ */
+public final class LiveButtonScheduler {
+
+    /**
+     * The default time budget per tick, in milliseconds.
+     */
+    public static final double DEFAULT_BUDGET_MILLIS = 2.0;
+
+    private static final JavaPlugin PLUGIN = JavaPlugin.getProvidingPlugin(LiveButtonScheduler.class);
+
+    private static final Set<Menu> MENUS = ConcurrentHashMap.newKeySet();
+    private static final Map<LiveMenuButton, Long> NEXT_UPDATES = new WeakHashMap<>();
+    private static final Map<LiveMenuButton, Update> PENDING = new IdentityHashMap<>();
+    private static final Deque<Update> QUEUE = new ArrayDeque<>();
+
+    private static volatile long budgetNanos = toNanos(DEFAULT_BUDGET_MILLIS);
+    private static BukkitTask task;
+    private static long tick;
+
+    private LiveButtonScheduler() {
+    }
+
+    /**
+     * Registers a menu with live buttons, starting the scheduler if needed.
+     *
+     * @param menu the menu.
+     */
+    public static void register(@NotNull Menu menu) {
+        MENUS.add(menu);
+        start();
+    }
+
+    /**
+     * Unregisters a menu, its live buttons are no longer updated.
+     *
+     * @param menu the menu.
+     */
+    public static void unregister(@NotNull Menu menu) {
+        MENUS.remove(menu);
+    }
+
+    /**
+     * Retrieves the time budget per tick.
+     *
+     * @return the budget in milliseconds.
+     */
+    public static double getBudget() {
+        return budgetNanos / 1_000_000.0;
+    }
+
+    /**
+     * Sets the time budget per tick.
+     * <p>
+     * At least one button is updated per tick, even if a single update exceeds the budget.
+     *
+     * @param millis the budget in milliseconds, greater than 0.
+     */
+    public static void setBudget(double millis) {
+        if (!(millis > 0)) {
+            throw new IllegalArgumentException("Budget must be greater than 0 (Budget = " + millis + ")");
+        }
+        budgetNanos = toNanos(millis);
+    }
+
+    /**
+     * Starts the scheduler if it is not running.
+     */
+    public static synchronized void start() {
+        if (task == null) {
+            if (!Bukkit.isPrimaryThread()) {
+                Bukkit.getScheduler().runTask(PLUGIN, LiveButtonScheduler::start);
+                return;
+            }
+            task = Bukkit.getScheduler().runTaskTimer(PLUGIN, LiveButtonScheduler::tick, 1L, 1L);
+        }
+    }
+
+    /**
+     * Stops the scheduler and forgets every registered menu.
+     */
+    public static synchronized void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        MENUS.clear();
+        NEXT_UPDATES.clear();
+        PENDING.clear();
+        QUEUE.clear();
+    }
+
+    private static void tick() {
+        long deadline = System.nanoTime() + budgetNanos;
+        tick++;
+        if (QUEUE.isEmpty()) {
+            collect();
+        }
+        Update update;
+        while ((update = QUEUE.poll()) != null) {
+            PENDING.remove(update.button);
+            process(update);
+            if (System.nanoTime() >= deadline) break;
+        }
+        if (MENUS.isEmpty() && QUEUE.isEmpty()) {
+            stopIfIdle();
+        }
+    }
+
+    /**
+     * Cancels the task once nothing is left to update, {@link #register(Menu)} starts it again.
+     */
+    private static synchronized void stopIfIdle() {
+        // Checked again under the lock, a menu registered meanwhile keeps the task running.
+        if (task != null && MENUS.isEmpty() && QUEUE.isEmpty()) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private static void collect() {
+        for (Menu menu : MENUS) {
+            Set<Integer> pages = new HashSet<>();
+            for (Viewer viewer : ViewerManager.getViewers(menu)) {
+                if (isViewing(viewer)) {
+                    pages.add(viewer.getPage());
+                }
+            }
+            if (pages.isEmpty()) {
+                MENUS.remove(menu);
+                continue;
+            }
+
+            for (int page : pages) {
+                for (IMenuButton button : menu.getSlots(page)) {
+                    if (!(button instanceof LiveMenuButton liveMenuButton)) continue;
+                    Long next = NEXT_UPDATES.get(liveMenuButton);
+                    if (next == null) {
+                        // The button was rendered when the menu was opened.
+                        NEXT_UPDATES.put(liveMenuButton, tick + liveMenuButton.getInterval());
+                    } else if (next <= tick) {
+                        PENDING.computeIfAbsent(liveMenuButton, key -> {
+                            Update update = new Update(key);
+                            QUEUE.add(update);
+                            return update;
+                        }).menus.add(menu);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void process(@NotNull Update update) {
+        LiveMenuButton button = update.button;
+        NEXT_UPDATES.put(button, tick + button.getInterval());
+
+        SerializableItemStack previous = button.getItem();
+        SerializableItemStack item;
+        try {
+            item = button.update();
+        } catch (Throwable throwable) {
+            PLUGIN.getLogger().log(Level.WARNING, "Failed to update live button at slot " + button.getSlot(), throwable);
+            return;
+        }
+        if (item == previous) return;
+        button.setItem(item);
+        if (previous != null && Objects.equals(previous.getSharedVisualItemStack(), item.getSharedVisualItemStack())) return;
+
+        for (Menu menu : update.menus) {
+            menu.updateButton(button);
+        }
+    }
+
+    private static boolean isViewing(@NotNull Viewer viewer) {
+        Inventory inventory = viewer.getInventory();
+        return inventory != null && viewer.getPlayer().getOpenInventory().getTopInventory().getHolder() == inventory.getHolder();
+    }
+
+    private static long toNanos(double millis) {
+        return (long) (millis * TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    /**
+     * A due button together with the menus it was collected from.
+     */
+    private static final class Update {
+
+        private final LiveMenuButton button;
+        private final Set<Menu> menus = new HashSet<>(2);
+
+        private Update(LiveMenuButton button) {
+            this.button = button;
+        }
+    }
+}
@@ -1,19 +1,33 @@
 package com.georgev22.menuapi.inventory;
 
+import com.georgev22.library.maps.ConcurrentObjectMap;
+import com.georgev22.library.maps.ObjectMap;
 import com.georgev22.menuapi.api.inventory.*;
 import com.georgev22.menuapi.api.inventory.components.IMenuButton;
-import com.georgev22.menuapi.utilities.InventoryUpdate;
+import com.georgev22.menuapi.inventory.components.LiveMenuButton;
+import com.georgev22.menuapi.inventory.components.TemplateMenuButton;
+import com.georgev22.menuapi.metrics.MenuMetrics;
+import com.georgev22.menuapi.metrics.MenuOpenEvent;
+import com.georgev22.menuapi.metrics.PageRenderEvent;
+import com.georgev22.menuapi.utilities.MenuExecutors;
+import com.georgev22.menuapi.utilities.TitleScheduler;
 import com.georgev22.library.minecraft.BukkitMinecraftUtils.MinecraftVersion;
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryView;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.Serial;
 import java.lang.reflect.InvocationTargetException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.ListIterator;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
+import java.util.logging.Level;
 
 /**
  * The `Menu` class implements the `IMenu` interface and manages the interactive menu in the Minecraft game.
@@ -26,13 +40,49 @@ import java.util.function.Consumer;
  * A new `Menu` object is initialized with the number of rows in the menu, maximum number of pages,
  * and a list of `IMenuButton` objects. Initial menu creation includes validation rules for row and
  * page counts.
+ * <p>
+ * For the 64 most recently opened or clicked pages, the menu keeps a slot table ({@code IMenuButton[rows * 9]})
+ * so that resolving the button behind a slot is a single array lookup. The tables are dropped whenever the
+ * button list changes, either through {@link #setButtons(List)}, {@link #setSlot(IMenuButton, int)} or
+ * the list returned by {@link #getButtons()}.
+ * <p>
+ * A {@linkplain #setShared(boolean) shared} menu keeps a single inventory per page, which every viewer of
+ * that page opens. The slots of the shared inventories a change of the button list touches are re-rendered.
+ * <p>
+ * A menu backed by a {@link PagedMenuSource} asks the source for the buttons of a page when a viewer opens it,
+ * and fetches the pages next to it ahead of time. The source is always called in the background, never on the
+ * server thread: a page that is not fetched yet shows the static buttons only, and is rendered on the server thread
+ * once its buttons arrive. Every viewer keeps the last {@link #getPageCacheSize()} pages it visited or prefetched,
+ * so memory scales with the viewed pages rather than with the catalog.
+ * <p>
+ * A menu created by {@link MenuPrototype#instantiate(Player)} reads the slot tables of its prototype and only
+ * builds its own tables for the pages its own buttons are on.
  */
 public class Menu implements IMenu {
 
+    /**
+     * The {@code Inventory#getTitle()} method of servers before 1.14, per inventory implementation class.
+     */
+    private static final ObjectMap<Class<?>, Method> LEGACY_TITLE_METHODS = new ConcurrentObjectMap<>();
+
     private final List<IMenuButton> buttons;
+    // Allocated on first use, see getPageIndex(), getSlotTables(), getSharedInventories() and getPageCaches().
+    private volatile PageIndex pageIndex;
+    private volatile SlotTables slotTables;
+    private volatile ObjectMap<Integer, Inventory> sharedInventories;
+    private volatile Map<Viewer, PageCache> pageCaches;
+
+    /**
+     * The default number of pages of a {@link PagedMenuSource} kept per viewer: the current page and both adjacent pages.
+     */
+    public static final int DEFAULT_PAGE_CACHE_SIZE = 3;
 
+    private final MenuPrototype prototype;
     private final int rows;
     private int maxPages;
+    private volatile boolean shared;
+    private volatile PagedMenuSource source;
+    private volatile int pageCacheSize = DEFAULT_PAGE_CACHE_SIZE;
 
     /**
      * Constructs a new Menu.
@@ -53,6 +103,35 @@ public class Menu implements IMenu {
      * @throws IllegalArgumentException if row or page conditions stated above are violated.
      */
     public Menu(int rows, int maxPages, List<IMenuButton> buttons) {
+        this(rows, maxPages, buttons, null);
+    }
+
+    /**
+     * Constructs a new instance of a {@link MenuPrototype}.
+     * <p>
+     * {@link #getButtons()} starts empty and holds the buttons of this instance only, which are displayed above
+     * the shared layout of the prototype. Until a button is added, the slot tables of the prototype are used as is.
+     *
+     * @param prototype the prototype.
+     */
+    Menu(@NotNull MenuPrototype prototype) {
+        this(prototype.getRows(), prototype.getPages(), List.of(), prototype);
+    }
+
+    private Menu(int rows, int maxPages, List<IMenuButton> buttons, @Nullable MenuPrototype prototype) {
+        validate(rows, maxPages);
+        this.prototype = prototype;
+        this.rows = rows;
+        this.maxPages = maxPages;
+        this.buttons = new ButtonList(buttons);
+    }
+
+    /**
+     * Validates the row and page counts of a menu.
+     *
+     * @throws IllegalArgumentException if the counts are out of range, see {@link #Menu(int, int, List)}.
+     */
+    static void validate(int rows, int maxPages) {
         if (maxPages > 1 || maxPages == -1) {
             if (rows < 2) {
                 throw new IllegalArgumentException("Rows (Rows = " + rows + ") must be greater than 1 if you want to have multiple pages (Max Pages = " + maxPages + ")");
@@ -65,9 +144,21 @@ public class Menu implements IMenu {
         if (rows > 6) {
             throw new IllegalArgumentException("Rows must be less than or equal to 6 (Rows = " + rows + ") (Max Pages = " + maxPages + ")");
         }
-        this.rows = rows;
-        this.maxPages = maxPages;
-        this.buttons = new ArrayList<>(buttons);
+    }
+
+    /**
+     * Constructs a new Menu whose pages are produced by a {@link PagedMenuSource}.
+     * <p>
+     * The number of pages is retrieved from the source. Buttons added to {@link #getButtons()} are displayed
+     * on every page, below the buttons of the source.
+     *
+     * @param rows   the number of rows in the menu. Must be greater than 1. Must not exceed 6.
+     * @param source the source of the pages.
+     * @throws IllegalArgumentException if the row count is out of range.
+     */
+    public Menu(int rows, @NotNull PagedMenuSource source) {
+        this(rows, -1, new ArrayList<>());
+        this.source = source;
     }
 
     /**
@@ -87,6 +178,318 @@ public class Menu implements IMenu {
         this.buttons.addAll(buttons);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setSlot(@NotNull IMenuButton button, int slot) {
+        int previous = button.getSlot();
+        button.setSlot(slot);
+        invalidate(previous, slot);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @Nullable IMenuButton getButton(@NotNull Player player, int slot) {
+        Viewer viewer = ViewerManager.getViewer(this, player);
+        if (viewer == null || viewer.getPage() < 1) return null;
+        IMenuButton[] slots = getSlots(viewer, viewer.getPage());
+        return slot >= 0 && slot < slots.length ? slots[slot] : null;
+    }
+
+    /**
+     * Retrieves the slot table of the given page.
+     * <p>
+     * Each index of the returned array is an inventory slot and holds the button displayed in it,
+     * or {@code null} if the slot is empty. If more than one button claims the same slot,
+     * the last one in the button list wins, which is also the one that is rendered.
+     * <p>
+     * The returned array is shared and must not be modified.
+     * <p>
+     * If the menu is backed by a {@link PagedMenuSource}, the page is looked up in the pages cached for the viewers.
+     * The source is never called: if no viewer holds the page, only the static buttons are returned.
+     *
+     * @param page the page of the slot table.
+     * @return the slot table of the page.
+     */
+    protected IMenuButton @NotNull [] getSlots(int page) {
+        Map<Viewer, PageCache> pageCaches = this.pageCaches;
+        if (this.source != null && pageCaches != null) {
+            synchronized (pageCaches) {
+                for (PageCache cache : pageCaches.values()) {
+                    IMenuButton[] slots = cache.getSlots(page);
+                    if (slots != null) return slots;
+                }
+            }
+        }
+        return getStaticSlots(page);
+    }
+
+    /**
+     * Retrieves the slot table of a page as seen by a viewer.
+     * <p>
+     * A page of the source that is not fetched yet is fetched in the background, and only its static buttons are
+     * returned until then, see {@link #fetch(Viewer, PageCache, PagedMenuSource, int)}.
+     */
+    private IMenuButton @NotNull [] getSlots(@Nullable Viewer viewer, int page) {
+        PagedMenuSource source = this.source;
+        if (source == null || viewer == null) {
+            return getSlots(page);
+        }
+        PageCache cache = getPageCaches().computeIfAbsent(viewer, key -> new PageCache());
+        IMenuButton[] slots = cache.getSlots(page);
+        if (slots == null) {
+            Page entry = fetch(viewer, cache, source, page);
+            List<IMenuButton> buttons = entry.getNow();
+            if (buttons == null) {
+                return getStaticSlots(page);
+            }
+            slots = mergeSlots(page, buttons);
+            entry.slots = slots;
+        }
+        return slots;
+    }
+
+    /**
+     * Retrieves the page held by a viewer, or starts fetching it in the background.
+     * <p>
+     * Once fetched, the page is rendered on the server thread if the viewer is still on it.
+     * A page that could not be fetched is dropped, so that it is fetched again the next time it is needed.
+     */
+    private @NotNull Page fetch(@NotNull Viewer viewer, @NotNull PageCache cache, @NotNull PagedMenuSource source, int page) {
+        synchronized (cache) {
+            Page entry = cache.get(page);
+            if (entry != null) return entry;
+            Page created = new Page(MenuExecutors.supplyAsync(() -> source.getButtons(page), MenuExecutors.getExecutor()));
+            cache.put(page, created);
+            created.buttons.whenComplete((buttons, throwable) -> {
+                JavaPlugin plugin = JavaPlugin.getProvidingPlugin(Menu.class);
+                if (throwable != null) {
+                    cache.remove(page, created);
+                    plugin.getLogger().log(Level.WARNING, "Failed to fetch page " + page + " of " + getClass().getName(), throwable);
+                } else if (plugin.isEnabled()) {
+                    Bukkit.getScheduler().runTask(plugin, () -> renderFetched(viewer, page));
+                }
+            });
+            return created;
+        }
+    }
+
+    /**
+     * Renders the buttons of the source on a page fetched in the background, if the viewer is still on it.
+     */
+    private void renderFetched(@NotNull Viewer viewer, int page) {
+        if (viewer.getPage() != page || ViewerManager.getViewer(this, viewer.getPlayer()) != viewer) return;
+        Inventory inventory = viewer.getInventory();
+        if (inventory == null || isSharedInventory(inventory)) return;
+        IMenuButton[] rendered = getStaticSlots(page);
+        IMenuButton[] slots = getSlots(viewer, page);
+        boolean live = false;
+        for (int slot = 0; slot < slots.length; slot++) {
+            IMenuButton button = slots[slot];
+            if (button == rendered[slot]) continue;
+            inventory.setItem(slot, button != null ? render(button, viewer.getPlayer()) : null);
+            live |= button instanceof LiveMenuButton;
+        }
+        if (live) {
+            LiveButtonScheduler.register(this);
+        }
+    }
+
+    private IMenuButton @NotNull [] getStaticSlots(int page) {
+        if (this.prototype != null && this.buttons.isEmpty()) {
+            return this.prototype.getSlots(page);
+        }
+        return getSlotTables().get(page, this::buildSlots);
+    }
+
+    private @NotNull PageIndex getPageIndex() {
+        PageIndex pageIndex = this.pageIndex;
+        if (pageIndex == null) {
+            synchronized (this) {
+                pageIndex = this.pageIndex;
+                if (pageIndex == null) pageIndex = this.pageIndex = new PageIndex();
+            }
+        }
+        return pageIndex;
+    }
+
+    private @NotNull SlotTables getSlotTables() {
+        SlotTables slotTables = this.slotTables;
+        if (slotTables == null) {
+            synchronized (this) {
+                slotTables = this.slotTables;
+                if (slotTables == null) slotTables = this.slotTables = new SlotTables();
+            }
+        }
+        return slotTables;
+    }
+
+    private @NotNull ObjectMap<Integer, Inventory> getSharedInventories() {
+        ObjectMap<Integer, Inventory> sharedInventories = this.sharedInventories;
+        if (sharedInventories == null) {
+            synchronized (this) {
+                sharedInventories = this.sharedInventories;
+                if (sharedInventories == null) sharedInventories = this.sharedInventories = new ConcurrentObjectMap<>();
+            }
+        }
+        return sharedInventories;
+    }
+
+    private @NotNull Map<Viewer, PageCache> getPageCaches() {
+        Map<Viewer, PageCache> pageCaches = this.pageCaches;
+        if (pageCaches == null) {
+            synchronized (this) {
+                pageCaches = this.pageCaches;
+                if (pageCaches == null) pageCaches = this.pageCaches = Collections.synchronizedMap(new WeakHashMap<>());
+            }
+        }
+        return pageCaches;
+    }
+
+    private IMenuButton @NotNull [] mergeSlots(int page, @NotNull List<IMenuButton> buttons) {
+        IMenuButton[] slots = getStaticSlots(page).clone();
+        for (IMenuButton button : buttons) {
+            int slot = button.getSlot();
+            if (slot >= 0 && slot < slots.length) {
+                slots[slot] = button;
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * Fetches the pages next to the given page in the background, unless the viewer already holds them.
+     */
+    private void prefetch(@NotNull Viewer viewer, int page) {
+        PagedMenuSource source = this.source;
+        if (source == null) return;
+        PageCache cache = getPageCaches().computeIfAbsent(viewer, key -> new PageCache());
+        int pages = source.getPageCount();
+        for (int adjacent : new int[]{page + 1, page - 1}) {
+            if (adjacent < 1 || (pages != -1 && adjacent > pages)) continue;
+            fetch(viewer, cache, source, adjacent);
+        }
+    }
+
+    /**
+     * Retrieves the item a button is rendered with.
+     * <p>
+     * The shared visual item of the button is returned, since {@link Inventory#setItem(int, ItemStack)}
+     * already copies the item into the inventory.
+     *
+     * @param button the button to be rendered.
+     * @return the item to be placed in the inventory.
+     */
+    protected ItemStack render(@NotNull IMenuButton button) {
+        return button.getItem().getSharedVisualItemStack();
+    }
+
+    /**
+     * Retrieves the item a button is rendered with for a player.
+     * <p>
+     * Template buttons are rendered with the placeholders of the player, other buttons as in {@link #render(IMenuButton)}.
+     *
+     * @param button the button to be rendered.
+     * @param player the player the button is rendered for.
+     * @return the item to be placed in the player's inventory, or {@code null} to leave the slot empty,
+     * see {@link TemplateMenuButton#render(Player)}.
+     */
+    protected @Nullable ItemStack render(@NotNull IMenuButton button, @NotNull Player player) {
+        return button instanceof TemplateMenuButton templateMenuButton ? templateMenuButton.render(player) : render(button);
+    }
+
+    /**
+     * Drops the slot tables and re-renders the shared inventories.
+     */
+    private void invalidate() {
+        dropSlots();
+        ObjectMap<Integer, Inventory> sharedInventories = this.sharedInventories;
+        if (sharedInventories == null) return;
+        sharedInventories.forEach((page, inventory) -> {
+            IMenuButton[] slots = getSlots(page);
+            for (int slot = 0; slot < slots.length; slot++) {
+                renderShared(inventory, slots, slot);
+            }
+        });
+    }
+
+    /**
+     * Drops the slot tables and re-renders two slots of the shared inventories, the other slots are unchanged.
+     */
+    private void invalidate(int first, int second) {
+        dropSlots();
+        ObjectMap<Integer, Inventory> sharedInventories = this.sharedInventories;
+        if (sharedInventories == null) return;
+        sharedInventories.forEach((page, inventory) -> {
+            IMenuButton[] slots = getSlots(page);
+            renderShared(inventory, slots, first);
+            if (second != first) renderShared(inventory, slots, second);
+        });
+    }
+
+    private void dropSlots() {
+        SlotTables slotTables = this.slotTables;
+        if (slotTables != null) {
+            slotTables.clear();
+        }
+        Map<Viewer, PageCache> pageCaches = this.pageCaches;
+        if (pageCaches != null) {
+            synchronized (pageCaches) {
+                pageCaches.values().forEach(PageCache::clearSlots);
+            }
+        }
+    }
+
+    private void renderShared(@NotNull Inventory inventory, IMenuButton @NotNull [] slots, int slot) {
+        if (slot < 0 || slot >= slots.length) return;
+        IMenuButton button = slots[slot];
+        inventory.setItem(slot, button != null ? render(button) : null);
+    }
+
+    private @NotNull Inventory createSharedInventory(int page) {
+        long start = System.nanoTime();
+        PageRenderEvent event = new PageRenderEvent();
+        event.begin();
+        Inventory inventory = new MenuInventoryHolder(this).getInventory();
+        IMenuButton[] slots = getSlots(page);
+        int written = 0;
+        for (int slot = 0; slot < slots.length; slot++) {
+            IMenuButton button = slots[slot];
+            if (button != null) {
+                inventory.setItem(slot, render(button));
+                written++;
+            }
+        }
+        MenuMetrics.PAGE_RENDER.recordSince(start);
+        commit(event, page, written, true);
+        return inventory;
+    }
+
+    private IMenuButton @NotNull [] buildSlots(int page) {
+        PageIndex pageIndex = this.pageIndex;
+        IMenuButton[] slots = pageIndex != null ? pageIndex.getSlots(page, this.rows * 9) : new IMenuButton[this.rows * 9];
+        if (this.prototype != null) {
+            // Copy on write: the table of the prototype is shared by every instance.
+            IMenuButton[] shared = this.prototype.getSlots(page);
+            for (int slot = 0; slot < slots.length; slot++) {
+                if (slots[slot] == null) slots[slot] = shared[slot];
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * Retrieves the prototype this menu is an instance of.
+     *
+     * @return the prototype, or {@code null} if the menu was not created by {@link MenuPrototype#instantiate(Player)}.
+     */
+    public @Nullable MenuPrototype getPrototype() {
+        return this.prototype;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -94,9 +497,15 @@ public class Menu implements IMenu {
     public void open(@NotNull Player player, int page, Consumer<IMenu> menuConsumer, Consumer<InventoryView> inventoryConsumer) {
         if (page == 0) return;
         if (page < 1) return;
-        if (this.maxPages != -1) if (page > this.maxPages) return;
+        int pages = getPages();
+        if (pages != -1) if (page > pages) return;
+        long start = System.nanoTime();
+        MenuOpenEvent openEvent = new MenuOpenEvent();
+        openEvent.begin();
 
-        Inventory inventory = new MenuInventoryHolder(this, player).getInventory();
+        Inventory inventory = this.shared
+                ? getSharedInventories().computeIfAbsent(page, this::createSharedInventory)
+                : new MenuInventoryHolder(this, player).getInventory();
         Viewer viewer = ViewerManager.getViewer(this, player);
         if (viewer == null) {
             viewer = ViewerManager.addViewer(this, new Viewer(player, page, inventory));
@@ -104,29 +513,174 @@ public class Menu implements IMenu {
             viewer.setPage(page);
             viewer.setInventory(inventory);
         }
-        viewer.getInventory().clear();
-        for (
-                IMenuButton button : this.buttons.stream()
-                .filter(b -> b.getPageRange().isPageInRange(page))
-                .toList()
-        ) {
-            inventory.setItem(button.getSlot(), button.getItem().getVisualItemStack());
+        IMenuButton[] slots = getSlots(viewer, page);
+        boolean live = false;
+        if (this.shared) {
+            for (IMenuButton button : slots) {
+                live |= button instanceof LiveMenuButton;
+            }
+        } else {
+            long renderStart = System.nanoTime();
+            PageRenderEvent renderEvent = new PageRenderEvent();
+            renderEvent.begin();
+            viewer.getInventory().clear();
+            int written = 0;
+            for (int slot = 0; slot < slots.length; slot++) {
+                IMenuButton button = slots[slot];
+                if (button != null) {
+                    inventory.setItem(slot, render(button, player));
+                    live |= button instanceof LiveMenuButton;
+                    written++;
+                }
+            }
+            MenuMetrics.PAGE_RENDER.recordSince(renderStart);
+            commit(renderEvent, page, written, false);
         }
 
         inventoryConsumer.accept(player.openInventory(inventory));
+        if (live) {
+            LiveButtonScheduler.register(this);
+        }
+        prefetch(viewer, page);
+        MenuMetrics.MENU_OPEN.recordSince(start);
+        if (openEvent.shouldCommit()) {
+            openEvent.menuClass = getClass();
+            openEvent.player = player.getName();
+            openEvent.page = page;
+            openEvent.shared = this.shared;
+            openEvent.commit();
+        }
         menuConsumer.accept(this);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setPage(@NotNull Player player, int page) {
+        if (page < 1) return;
+        int pages = getPages();
+        if (pages != -1) if (page > pages) return;
+
+        Viewer viewer = ViewerManager.getViewer(this, player);
+        Inventory inventory = viewer != null ? viewer.getInventory() : null;
+        // A shared inventory belongs to its page, switching page means switching inventory.
+        if (inventory == null || this.shared || player.getOpenInventory().getTopInventory().getHolder() != inventory.getHolder()) {
+            open(player, page, menu -> {
+            }, inventoryView -> {
+            });
+            return;
+        }
+        if (viewer.getPage() == page) return;
+
+        long start = System.nanoTime();
+        PageRenderEvent event = new PageRenderEvent();
+        event.begin();
+        IMenuButton[] previous = getSlots(viewer, viewer.getPage());
+        IMenuButton[] next = getSlots(viewer, page);
+        int written = 0;
+        boolean live = false;
+        for (int slot = 0; slot < next.length; slot++) {
+            IMenuButton button = next[slot];
+            live |= button instanceof LiveMenuButton;
+            if (previous[slot] != button) {
+                inventory.setItem(slot, button != null ? render(button, player) : null);
+                written++;
+            }
+        }
+        viewer.setPage(page);
+        if (live) {
+            LiveButtonScheduler.register(this);
+        }
+        MenuMetrics.PAGE_RENDER.recordSince(start);
+        commit(event, page, written, false);
+        prefetch(viewer, page);
+    }
+
+    private void commit(@NotNull PageRenderEvent event, int page, int slots, boolean shared) {
+        if (event.shouldCommit()) {
+            event.menuClass = getClass();
+            event.page = page;
+            event.slots = slots;
+            event.shared = shared;
+            event.commit();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateButton(@NotNull IMenuButton button) {
+        int slot = button.getSlot();
+        if (slot < 0 || slot >= this.rows * 9) return;
+        ItemStack rendered = null;
+        ObjectMap<Integer, Inventory> sharedInventories = this.sharedInventories;
+        if (sharedInventories != null) {
+            for (var entry : sharedInventories.entrySet()) {
+                if (getSlots(entry.getKey())[slot] != button) continue;
+                if (rendered == null) rendered = render(button);
+                entry.getValue().setItem(slot, rendered);
+            }
+        }
+        boolean template = button instanceof TemplateMenuButton;
+        for (Viewer viewer : ViewerManager.getViewers(this)) {
+            Inventory inventory = viewer.getInventory();
+            if (inventory == null || isSharedInventory(inventory)) continue;
+            if (getSlots(viewer, viewer.getPage())[slot] != button) continue;
+            if (template) {
+                inventory.setItem(slot, render(button, viewer.getPlayer()));
+                continue;
+            }
+            if (rendered == null) rendered = render(button);
+            inventory.setItem(slot, rendered);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void refresh(@NotNull Player player) {
+        Viewer viewer = ViewerManager.getViewer(this, player);
+        Inventory inventory = viewer != null ? viewer.getInventory() : null;
+        if (inventory == null || isSharedInventory(inventory)) return;
+        IMenuButton[] slots = getSlots(viewer, viewer.getPage());
+        for (int slot = 0; slot < slots.length; slot++) {
+            if (slots[slot] instanceof TemplateMenuButton templateMenuButton && templateMenuButton.isStale(player)) {
+                inventory.setItem(slot, templateMenuButton.render(player));
+            }
+        }
+    }
+
+    private static boolean isSharedInventory(@NotNull Inventory inventory) {
+        return inventory.getHolder() instanceof MenuInventoryHolder menuInventoryHolder && menuInventoryHolder.isShared();
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void close() {
-        ListIterator<Viewer> iterator = ViewerManager.getViewers(this).listIterator();
-        while (iterator.hasNext()) {
-            Viewer viewer = iterator.next();
+        for (Viewer viewer : ViewerManager.getViewers(this)) {
             viewer.getPlayer().closeInventory();
-            iterator.remove();
+            ViewerManager.removeViewer(this, viewer);
+        }
+        clearSharedInventories();
+        clearPageCaches();
+    }
+
+    private void clearSharedInventories() {
+        ObjectMap<Integer, Inventory> sharedInventories = this.sharedInventories;
+        if (sharedInventories != null) {
+            sharedInventories.clear();
+        }
+    }
+
+    private void clearPageCaches() {
+        Map<Viewer, PageCache> pageCaches = this.pageCaches;
+        if (pageCaches != null) {
+            pageCaches.clear();
         }
     }
 
@@ -142,6 +696,10 @@ public class Menu implements IMenu {
         Viewer viewer = ViewerManager.getViewer(this, player);
         if (viewer != null) {
             ViewerManager.removeViewer(this, viewer);
+            Map<Viewer, PageCache> pageCaches = this.pageCaches;
+            if (pageCaches != null) {
+                pageCaches.remove(viewer);
+            }
         }
     }
 
@@ -150,20 +708,15 @@ public class Menu implements IMenu {
      */
     @Override
     public void setTitle(@NotNull Player player, @NotNull String title) {
-        InventoryView inventoryView = player.getOpenInventory();
-        //noinspection ConstantValue
-        if (inventoryView == null) return;
-        Inventory inventory = inventoryView.getTopInventory();
-        //noinspection ConstantValue
-        if (inventory == null) return;
-        if (inventory.getHolder() instanceof MenuInventoryHolder) {
-            if (MinecraftVersion.getCurrentVersion().isAbove(MinecraftVersion.V1_19_R3)) {
-                inventoryView.setTitle(title);
-            } else {
-                //noinspection deprecation
-                InventoryUpdate.updateInventory(player, title);
-            }
-        }
+        TitleScheduler.update(player, title);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void scheduleTitle(@NotNull Player player, @NotNull String title) {
+        TitleScheduler.schedule(player, title);
     }
 
     /**
@@ -177,21 +730,34 @@ public class Menu implements IMenu {
         Inventory inventory = inventoryView.getTopInventory();
         //noinspection ConstantValue
         if (inventory == null) return "";
-        if (inventory.getHolder() instanceof MenuInventoryHolder) {
+        if (inventory.getHolder() instanceof MenuInventoryHolder menuInventoryHolder) {
+            String title = menuInventoryHolder.getTitle();
+            if (title != null) return title;
             if (MinecraftVersion.getCurrentVersion().isAboveOrEqual(MinecraftVersion.V1_14_R1)) {
                 //noinspection deprecation
-                return inventoryView.getTitle();
+                title = inventoryView.getTitle();
             } else {
                 try {
-                    return (String) inventory.getClass().getMethod("getTitle").invoke(inventory);
+                    title = (String) getLegacyTitleMethod(inventory.getClass()).invoke(inventory);
                 } catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
                     throw new RuntimeException(e);
                 }
             }
+            menuInventoryHolder.setTitle(title);
+            return title;
         }
         return "";
     }
 
+    private static @NotNull Method getLegacyTitleMethod(@NotNull Class<?> inventoryClass) throws NoSuchMethodException {
+        Method method = LEGACY_TITLE_METHODS.get(inventoryClass);
+        if (method == null) {
+            method = inventoryClass.getMethod("getTitle");
+            LEGACY_TITLE_METHODS.put(inventoryClass, method);
+        }
+        return method;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -219,10 +785,13 @@ public class Menu implements IMenu {
 
     /**
      * {@inheritDoc}
+     * <p>
+     * If the menu is backed by a {@link PagedMenuSource}, the page count of the source is returned.
      */
     @Override
     public int getPages() {
-        return this.maxPages;
+        PagedMenuSource source = this.source;
+        return source != null ? source.getPageCount() : this.maxPages;
     }
 
     /**
@@ -232,4 +801,236 @@ public class Menu implements IMenu {
     public void setPages(int pages) {
         this.maxPages = pages;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isShared() {
+        return this.shared;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setShared(boolean shared) {
+        if (shared && this.source != null) {
+            throw new IllegalStateException("A menu backed by a paged source can not be shared");
+        }
+        this.shared = shared;
+        if (!shared) {
+            clearSharedInventories();
+        }
+    }
+
+    /**
+     * Retrieves the source of the pages of this menu.
+     *
+     * @return the source, or {@code null} if the pages are built from {@link #getButtons()} only.
+     */
+    public @Nullable PagedMenuSource getSource() {
+        return this.source;
+    }
+
+    /**
+     * Sets the source of the pages of this menu and re-renders the pages of its viewers.
+     *
+     * @param source the source, or {@code null} to build the pages from {@link #getButtons()} only.
+     * @throws IllegalStateException if the menu is shared.
+     */
+    public void setSource(@Nullable PagedMenuSource source) {
+        if (source != null && this.shared) {
+            throw new IllegalStateException("A shared menu can not be backed by a paged source");
+        }
+        this.source = source;
+        invalidateSource();
+    }
+
+    /**
+     * Drops the pages fetched from the source and re-renders the pages of the viewers,
+     * for example after the underlying catalog changed.
+     */
+    public void invalidateSource() {
+        clearPageCaches();
+        for (Viewer viewer : ViewerManager.getViewers(this)) {
+            Inventory inventory = viewer.getInventory();
+            if (inventory == null || isSharedInventory(inventory)) continue;
+            IMenuButton[] slots = getSlots(viewer, viewer.getPage());
+            for (int slot = 0; slot < slots.length; slot++) {
+                IMenuButton button = slots[slot];
+                inventory.setItem(slot, button != null ? render(button, viewer.getPlayer()) : null);
+            }
+            prefetch(viewer, viewer.getPage());
+        }
+    }
+
+    /**
+     * Retrieves the number of pages of the source kept per viewer.
+     *
+     * @return the number of cached pages per viewer.
+     */
+    public int getPageCacheSize() {
+        return this.pageCacheSize;
+    }
+
+    /**
+     * Sets the number of pages of the source kept per viewer, the least recently used pages are dropped first.
+     * <p>
+     * Below {@link #DEFAULT_PAGE_CACHE_SIZE}, prefetched pages may evict each other before they are used.
+     *
+     * @param pageCacheSize the number of cached pages per viewer.
+     * @throws IllegalArgumentException if the size is less than 1.
+     */
+    public void setPageCacheSize(int pageCacheSize) {
+        if (pageCacheSize < 1) {
+            throw new IllegalArgumentException("Page cache size must be greater than 0 (Page cache size = " + pageCacheSize + ")");
+        }
+        this.pageCacheSize = pageCacheSize;
+    }
+
+    /**
+     * The buttons of a page fetched from the source, and its slot table once merged with the static buttons.
+     */
+    private static final class Page {
+
+        private final CompletableFuture<List<IMenuButton>> buttons;
+        private volatile IMenuButton[] slots;
+
+        private Page(CompletableFuture<List<IMenuButton>> buttons) {
+            this.buttons = buttons;
+        }
+
+        /**
+         * Retrieves the buttons of the page without waiting for them.
+         *
+         * @return the buttons, or {@code null} if they are not fetched yet or could not be fetched.
+         */
+        private @Nullable List<IMenuButton> getNow() {
+            if (!this.buttons.isDone() || this.buttons.isCompletedExceptionally()) {
+                return null;
+            }
+            return this.buttons.join();
+        }
+    }
+
+    /**
+     * The pages of the source held by one viewer, in least recently used order.
+     */
+    private final class PageCache extends LinkedHashMap<Integer, Page> {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private PageCache() {
+            super(8, 0.75f, true);
+        }
+
+        private synchronized IMenuButton @Nullable [] getSlots(int page) {
+            Page entry = super.get(page);
+            return entry != null ? entry.slots : null;
+        }
+
+        @Override
+        public synchronized Page get(Object key) {
+            return super.get(key);
+        }
+
+        @Override
+        public synchronized Page put(Integer key, Page value) {
+            return super.put(key, value);
+        }
+
+        @Override
+        public synchronized boolean remove(Object key, Object value) {
+            return super.remove(key, value);
+        }
+
+        private synchronized void clearSlots() {
+            for (Page entry : values()) {
+                entry.slots = null;
+            }
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Page> eldest) {
+            return size() > Menu.this.pageCacheSize;
+        }
+    }
+
+    /**
+     * Button list that keeps the page index in sync and drops the cached slot tables on every structural change.
+     * <p>
+     * Adding, replacing or removing a single button only re-renders the slots it takes or leaves in the shared
+     * inventories. {@link #addAll(Collection)} and {@link #clear()} re-render them once for the whole change.
+     */
+    private final class ButtonList extends AbstractList<IMenuButton> {
+
+        private final List<IMenuButton> delegate;
+
+        private ButtonList(Collection<IMenuButton> buttons) {
+            this.delegate = new ArrayList<>(buttons);
+            for (int i = 0; i < this.delegate.size(); i++) {
+                getPageIndex().add(i, this.delegate.get(i));
+            }
+        }
+
+        @Override
+        public IMenuButton get(int index) {
+            return this.delegate.get(index);
+        }
+
+        @Override
+        public int size() {
+            return this.delegate.size();
+        }
+
+        @Override
+        public IMenuButton set(int index, IMenuButton element) {
+            IMenuButton previous = this.delegate.set(index, element);
+            getPageIndex().set(index, element);
+            invalidate(previous.getSlot(), element.getSlot());
+            return previous;
+        }
+
+        @Override
+        public void add(int index, IMenuButton element) {
+            this.delegate.add(index, element);
+            getPageIndex().add(index, element);
+            this.modCount++;
+            invalidate(element.getSlot(), element.getSlot());
+        }
+
+        @Override
+        public IMenuButton remove(int index) {
+            IMenuButton removed = this.delegate.remove(index);
+            getPageIndex().remove(index);
+            this.modCount++;
+            invalidate(removed.getSlot(), removed.getSlot());
+            return removed;
+        }
+
+        @Override
+        public boolean addAll(Collection<? extends IMenuButton> buttons) {
+            int size = this.delegate.size();
+            if (!this.delegate.addAll(buttons)) return false;
+            for (int i = size; i < this.delegate.size(); i++) {
+                getPageIndex().add(i, this.delegate.get(i));
+            }
+            this.modCount++;
+            invalidate();
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            this.delegate.clear();
+            PageIndex pageIndex = Menu.this.pageIndex;
+            if (pageIndex != null) {
+                pageIndex.clear();
+            }
+            this.modCount++;
+            invalidate();
+        }
+    }
 }
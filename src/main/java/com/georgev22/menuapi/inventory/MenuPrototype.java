@@ -0,0 +1,120 @@
+package com.georgev22.menuapi.inventory;
+
+import com.georgev22.menuapi.api.inventory.components.IMenuButton;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.List;
+
+/**
+ * A frozen menu layout shared by many per-player menus.
+ * <p>
+ * The buttons of the prototype are copied once and their slot tables are built once per page, then shared by
+ * every instance. An instance only holds the buttons that differ for its player, drawn above the shared layout;
+ * it copies the slot table of a page only once it has buttons of its own, and never modifies the prototype.
+ * Like those of a menu, the slot tables of the 64 most recently used pages are kept.
+ * <p>
+ * An instance only allocates what it uses: its own page index and slot tables once it has buttons of its own,
+ * its shared inventories once it is shared and its page caches once it is backed by a paged source.
+ * <p>
+ * The buttons themselves are shared as well, so changing the item of a prototype button changes it in every
+ * instance. Buttons that vary per player belong in the instances, see {@link #customize(Player, Menu)}.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * MenuPrototype profile = new MenuPrototype(3, 1, layoutButtons) {
+ *     @Override
+ *     protected void customize(Player player, Menu menu) {
+ *         menu.getButtons().add(new MenuButton(headOf(player), 13, new PageRange(1, 1)));
+ *     }
+ * };
+ * profile.instantiate(player).open(player, 1, menu -> {}, inventory -> {});
+ * }</pre>
+ */
+public class MenuPrototype {
+
+    private final int rows;
+    private final int maxPages;
+    private final List<IMenuButton> buttons;
+    private final PageIndex pageIndex = new PageIndex();
+    private final SlotTables slotTables = new SlotTables();
+
+    /**
+     * Constructs a new MenuPrototype.
+     *
+     * @param rows     the number of rows of the menus. Must be at least 1. Must not exceed 6.
+     * @param maxPages the maximum pages the menus can have. Can be -1 to indicate no page maximum.
+     * @param buttons  the buttons shared by every instance, copied by the prototype.
+     * @throws IllegalArgumentException if the row or page counts are out of range, see {@link Menu#Menu(int, int, List)}.
+     */
+    public MenuPrototype(int rows, int maxPages, @NotNull List<IMenuButton> buttons) {
+        Menu.validate(rows, maxPages);
+        this.rows = rows;
+        this.maxPages = maxPages;
+        this.buttons = List.copyOf(buttons);
+        for (int i = 0; i < this.buttons.size(); i++) {
+            this.pageIndex.add(i, this.buttons.get(i));
+        }
+    }
+
+    /**
+     * Creates a menu for a player on top of this prototype, then applies {@link #customize(Player, Menu)}.
+     *
+     * @param player the player the menu is for.
+     * @return the menu, whose {@link Menu#getButtons()} holds the buttons of the player only.
+     */
+    public @NotNull Menu instantiate(@NotNull Player player) {
+        Menu menu = new Menu(this);
+        customize(player, menu);
+        return menu;
+    }
+
+    /**
+     * Adds the buttons of a player to a new instance. Does nothing by default.
+     *
+     * @param player the player the menu is for.
+     * @param menu   the new instance.
+     */
+    protected void customize(@NotNull Player player, @NotNull Menu menu) {
+    }
+
+    /**
+     * Retrieves the shared slot table of a page.
+     * <p>
+     * The returned array is shared by every instance and must not be modified.
+     *
+     * @param page the page of the slot table.
+     * @return the slot table of the page.
+     */
+    IMenuButton @NotNull [] getSlots(int page) {
+        return this.slotTables.get(page, key -> this.pageIndex.getSlots(key, this.rows * 9));
+    }
+
+    /**
+     * Retrieves the buttons shared by every instance.
+     *
+     * @return the buttons.
+     */
+    public @NotNull @Unmodifiable List<IMenuButton> getButtons() {
+        return this.buttons;
+    }
+
+    /**
+     * Retrieves the number of rows of the menus.
+     *
+     * @return the number of rows.
+     */
+    public int getRows() {
+        return this.rows;
+    }
+
+    /**
+     * Retrieves the maximum number of pages of the menus.
+     *
+     * @return the maximum number of pages, or -1 if there is no page maximum.
+     */
+    public int getPages() {
+        return this.maxPages;
+    }
+}
@@ -0,0 +1,216 @@
+package com.georgev22.menuapi.inventory;
+
+import com.georgev22.menuapi.api.inventory.PageRange;
+import com.georgev22.menuapi.api.inventory.components.IMenuButton;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * An interval index over the page ranges of the buttons of a menu, kept in the order of the button list.
+ * <p>
+ * A bounded range is split into at most {@code 2 * 31} aligned power-of-two blocks of pages, and the button is
+ * stored in the bucket of every block. The blocks holding a page are the {@code page >>> level} blocks of each level,
+ * so the buttons of a page are found with 32 bucket lookups. Open-ended ranges are kept in a tree map by start page,
+ * where the buttons of a page are the head map up to that page. Retrieving a page therefore costs
+ * {@code O(k + log n)} for {@code k} matching buttons instead of testing every button.
+ * <p>
+ * Every button carries the sequence of its position in the button list, so that when several buttons claim
+ * the same slot the last one in the list wins, as when filtering the list. Appending, replacing and removing
+ * a button update the index in place; inserting in the middle of the list renumbers it.
+ * <p>
+ * Page ranges of a {@link PageRange} subclass, and pages below 1, are matched with {@link PageRange#isPageInRange(int)}.
+ */
+final class PageIndex {
+
+    private static final int LEVELS = 32;
+
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<Long, List<Entry>> blocks = new HashMap<>();
+    private final NavigableMap<Integer, List<Entry>> openEnded = new TreeMap<>();
+    private final List<Entry> unindexed = new ArrayList<>();
+    private long sequence;
+
+    /**
+     * Inserts a button at the given position of the button list.
+     */
+    synchronized void add(int index, @NotNull IMenuButton button) {
+        if (index == this.entries.size()) {
+            Entry entry = new Entry(button, this.sequence++);
+            this.entries.add(entry);
+            insert(entry);
+            return;
+        }
+        this.entries.add(index, new Entry(button, 0));
+        renumber();
+    }
+
+    /**
+     * Replaces the button at the given position of the button list.
+     */
+    synchronized void set(int index, @NotNull IMenuButton button) {
+        Entry previous = this.entries.get(index);
+        delete(previous);
+        Entry entry = new Entry(button, previous.sequence);
+        this.entries.set(index, entry);
+        insert(entry);
+    }
+
+    /**
+     * Removes the button at the given position of the button list.
+     */
+    synchronized void remove(int index) {
+        delete(this.entries.remove(index));
+    }
+
+    /**
+     * Removes every button.
+     */
+    synchronized void clear() {
+        this.entries.clear();
+        this.blocks.clear();
+        this.openEnded.clear();
+        this.unindexed.clear();
+        this.sequence = 0;
+    }
+
+    /**
+     * Builds the slot table of a page.
+     *
+     * @param page the page.
+     * @param size the number of slots.
+     * @return the slot table, the last button in the list wins a slot.
+     */
+    synchronized IMenuButton @NotNull [] getSlots(int page, int size) {
+        IMenuButton[] slots = new IMenuButton[size];
+        long[] sequences = new long[size];
+        if (page < 1) {
+            for (Entry entry : this.entries) {
+                if (entry.button.getPageRange().isPageInRange(page)) place(entry, slots, sequences);
+            }
+            return slots;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            List<Entry> block = this.blocks.get(key(level, page >>> level));
+            if (block == null) continue;
+            for (Entry entry : block) {
+                place(entry, slots, sequences);
+            }
+        }
+        for (List<Entry> start : this.openEnded.headMap(page, true).values()) {
+            for (Entry entry : start) {
+                place(entry, slots, sequences);
+            }
+        }
+        for (Entry entry : this.unindexed) {
+            if (entry.button.getPageRange().isPageInRange(page)) place(entry, slots, sequences);
+        }
+        return slots;
+    }
+
+    private static void place(@NotNull Entry entry, IMenuButton @NotNull [] slots, long @NotNull [] sequences) {
+        int slot = entry.button.getSlot();
+        if (slot < 0 || slot >= slots.length) return;
+        if (slots[slot] == null || sequences[slot] < entry.sequence) {
+            slots[slot] = entry.button;
+            sequences[slot] = entry.sequence;
+        }
+    }
+
+    private void renumber() {
+        this.blocks.clear();
+        this.openEnded.clear();
+        this.unindexed.clear();
+        for (int i = 0; i < this.entries.size(); i++) {
+            Entry entry = new Entry(this.entries.get(i).button, i);
+            this.entries.set(i, entry);
+            insert(entry);
+        }
+        this.sequence = this.entries.size();
+    }
+
+    private void insert(@NotNull Entry entry) {
+        switch (entry.kind) {
+            case UNINDEXED -> this.unindexed.add(entry);
+            case OPEN_ENDED -> this.openEnded.computeIfAbsent(entry.start, key -> new ArrayList<>(1)).add(entry);
+            case BOUNDED -> forEachBlock(entry, key -> this.blocks.computeIfAbsent(key, k -> new ArrayList<>(1)).add(entry));
+            case EMPTY -> {
+            }
+        }
+    }
+
+    private void delete(@NotNull Entry entry) {
+        switch (entry.kind) {
+            case UNINDEXED -> this.unindexed.remove(entry);
+            case OPEN_ENDED -> removeFrom(this.openEnded, entry.start, entry);
+            case BOUNDED -> forEachBlock(entry, key -> removeFrom(this.blocks, key, entry));
+            case EMPTY -> {
+            }
+        }
+    }
+
+    private static <K> void removeFrom(@NotNull Map<K, List<Entry>> map, @NotNull K key, @NotNull Entry entry) {
+        List<Entry> list = map.get(key);
+        if (list == null) return;
+        list.remove(entry);
+        if (list.isEmpty()) map.remove(key);
+    }
+
+    /**
+     * Splits {@code [start, end]} into the largest aligned power-of-two blocks.
+     */
+    private static void forEachBlock(@NotNull Entry entry, @NotNull BlockConsumer consumer) {
+        long start = entry.start;
+        long end = entry.end;
+        while (start <= end) {
+            int level = Long.numberOfTrailingZeros(start);
+            while (level > 0 && start + (1L << level) - 1 > end) {
+                level--;
+            }
+            consumer.accept(key(level, (int) (start >>> level)));
+            start += 1L << level;
+        }
+    }
+
+    private static long key(int level, int block) {
+        return ((long) level << 32) | (block & 0xFFFFFFFFL);
+    }
+
+    @FunctionalInterface
+    private interface BlockConsumer {
+        void accept(long key);
+    }
+
+    private enum Kind {
+        BOUNDED, OPEN_ENDED, UNINDEXED, EMPTY
+    }
+
+    private static final class Entry {
+
+        private final IMenuButton button;
+        private final long sequence;
+        private final Kind kind;
+        private final int start;
+        private final int end;
+
+        private Entry(@NotNull IMenuButton button, long sequence) {
+            this.button = button;
+            this.sequence = sequence;
+            PageRange pageRange = button.getPageRange();
+            if (pageRange == null || pageRange.getClass() != PageRange.class) {
+                this.kind = Kind.UNINDEXED;
+                this.start = 0;
+                this.end = 0;
+                return;
+            }
+            // Pages below 1 are matched by scanning, see getSlots.
+            this.start = Math.max(pageRange.getStartPage(), 1);
+            this.end = pageRange.getEndPage();
+            if (this.end == -1) {
+                this.kind = Kind.OPEN_ENDED;
+            } else {
+                this.kind = this.end >= this.start ? Kind.BOUNDED : Kind.EMPTY;
+            }
+        }
+    }
+}
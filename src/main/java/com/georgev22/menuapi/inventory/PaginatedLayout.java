@@ -0,0 +1,233 @@
+package com.georgev22.menuapi.inventory;
+
+import com.georgev22.menuapi.api.inventory.PageRange;
+import com.georgev22.menuapi.api.inventory.PagedMenuSource;
+import com.georgev22.menuapi.api.inventory.components.IMenuButton;
+import com.georgev22.menuapi.inventory.components.NavigationButton;
+import com.georgev22.menuapi.utilities.SerializableItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lays out a list of content items over as many pages as needed.
+ * <p>
+ * The layout declares which slots hold content, the content items and how an item becomes a button.
+ * Page {@code n} shows the items {@code [(n - 1) * k, n * k)}, where {@code k} is the number of content slots,
+ * so the page count, the slot of an item and whether a page has a previous or next page are computed in O(1),
+ * and only the buttons of the materialized page are created.
+ * <p>
+ * Chrome, such as borders, is added once to the menu's button list with an open-ended page range,
+ * see {@link #createMenu(int, List)}. The previous and next buttons are single instances, only placed on the pages
+ * that have a previous or next page.
+ * <p>
+ * The item list is kept by reference. After changing it, call {@link Menu#invalidateSource()} to re-render the viewers.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * PaginatedLayout<Listing> layout = new PaginatedLayout<>(CONTENT_SLOTS, listings,
+ *         (listing, slot, index) -> new ListingButton(listing, slot));
+ * layout.setPreviousButton(previousItem, 45);
+ * layout.setNextButton(nextItem, 53);
+ * Menu menu = layout.createMenu(6, List.of(border));
+ * menu.open(player, 1, m -> {}, inventory -> {});
+ * }</pre>
+ *
+ * @param <T> the type of the content items.
+ */
+public class PaginatedLayout<T> implements PagedMenuSource {
+
+    private final int[] contentSlots;
+    private final List<T> items;
+    private final ButtonFactory<T> factory;
+    private volatile NavigationButton previousButton;
+    private volatile NavigationButton nextButton;
+
+    /**
+     * Constructs a new PaginatedLayout.
+     *
+     * @param contentSlots the slots holding content, in display order.
+     * @param items        the content items, preferably a {@link java.util.RandomAccess} list.
+     * @param factory      creates the button of a content item.
+     * @throws IllegalArgumentException if there is no content slot, or a content slot is out of range or repeated.
+     */
+    public PaginatedLayout(int @NotNull [] contentSlots, @NotNull List<T> items, @NotNull ButtonFactory<T> factory) {
+        if (contentSlots.length == 0) {
+            throw new IllegalArgumentException("Content slots must not be empty");
+        }
+        boolean[] used = new boolean[6 * 9];
+        for (int slot : contentSlots) {
+            if (slot < 0 || slot >= used.length) {
+                throw new IllegalArgumentException("Content slot must be between 0 and " + (used.length - 1) + " (Slot = " + slot + ")");
+            }
+            if (used[slot]) {
+                throw new IllegalArgumentException("Content slot must not be repeated (Slot = " + slot + ")");
+            }
+            used[slot] = true;
+        }
+        this.contentSlots = contentSlots.clone();
+        this.items = items;
+        this.factory = factory;
+    }
+
+    /**
+     * Creates a menu backed by this layout.
+     *
+     * @param rows   the number of rows of the menu. Must be greater than 1. Must not exceed 6.
+     * @param chrome the buttons displayed on every page, added once to the menu's button list.
+     * @return the menu.
+     * @throws IllegalArgumentException if the row count is out of range.
+     */
+    public @NotNull Menu createMenu(int rows, @NotNull List<IMenuButton> chrome) {
+        Menu menu = new Menu(rows, this);
+        menu.getButtons().addAll(chrome);
+        return menu;
+    }
+
+    /**
+     * Sets the button moving to the previous page, placed on every page but the first.
+     *
+     * @param item the item of the button, or {@code null} to remove the button.
+     * @param slot the slot of the button.
+     * @throws IllegalArgumentException if the slot is a content slot.
+     */
+    public void setPreviousButton(@Nullable SerializableItemStack item, int slot) {
+        this.previousButton = item != null ? createNavigationButton(item, slot, new PageRange(2, -1), -1) : null;
+    }
+
+    /**
+     * Sets the button moving to the next page, placed on every page but the last.
+     *
+     * @param item the item of the button, or {@code null} to remove the button.
+     * @param slot the slot of the button.
+     * @throws IllegalArgumentException if the slot is a content slot.
+     */
+    public void setNextButton(@Nullable SerializableItemStack item, int slot) {
+        this.nextButton = item != null ? createNavigationButton(item, slot, new PageRange(1, -1), 1) : null;
+    }
+
+    private @NotNull NavigationButton createNavigationButton(@NotNull SerializableItemStack item, int slot, @NotNull PageRange pageRange, int offset) {
+        for (int contentSlot : this.contentSlots) {
+            if (contentSlot == slot) {
+                throw new IllegalArgumentException("Navigation button must not be placed in a content slot (Slot = " + slot + ")");
+            }
+        }
+        return new NavigationButton(item, slot, pageRange, offset);
+    }
+
+    /**
+     * Retrieves the slots holding content, in display order.
+     *
+     * @return a copy of the content slots.
+     */
+    public int @NotNull [] getContentSlots() {
+        return this.contentSlots.clone();
+    }
+
+    /**
+     * Retrieves the content items.
+     *
+     * @return the content items, as given to the constructor.
+     */
+    public @NotNull List<T> getItems() {
+        return this.items;
+    }
+
+    /**
+     * Retrieves the page displaying a content item.
+     *
+     * @param index the index of the item.
+     * @return the page of the item, starting at 1.
+     */
+    public int getPage(int index) {
+        return index / this.contentSlots.length + 1;
+    }
+
+    /**
+     * Retrieves the slot displaying a content item.
+     *
+     * @param index the index of the item.
+     * @return the slot of the item.
+     */
+    public int getSlot(int index) {
+        return this.contentSlots[index % this.contentSlots.length];
+    }
+
+    /**
+     * Checks whether a page has a previous page.
+     *
+     * @param page the page.
+     * @return {@code true} if the page is not the first one.
+     */
+    public boolean hasPrevious(int page) {
+        return page > 1;
+    }
+
+    /**
+     * Checks whether a page has a next page.
+     *
+     * @param page the page.
+     * @return {@code true} if the page is not the last one.
+     */
+    public boolean hasNext(int page) {
+        return page < getPageCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned list holds the buttons of the content items of the page, then the navigation buttons.
+     */
+    @Override
+    public @NotNull List<IMenuButton> getButtons(int page) {
+        int from = (page - 1) * this.contentSlots.length;
+        int to = Math.min(from + this.contentSlots.length, this.items.size());
+        List<IMenuButton> buttons = new ArrayList<>(Math.max(0, to - from) + 2);
+        for (int index = from; index < to; index++) {
+            buttons.add(this.factory.create(this.items.get(index), this.contentSlots[index - from], index));
+        }
+        NavigationButton previousButton = this.previousButton;
+        if (previousButton != null && hasPrevious(page)) {
+            buttons.add(previousButton);
+        }
+        NavigationButton nextButton = this.nextButton;
+        if (nextButton != null && hasNext(page)) {
+            buttons.add(nextButton);
+        }
+        return buttons;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * An empty layout still has one page.
+     */
+    @Override
+    public int getPageCount() {
+        return Math.max(1, (this.items.size() + this.contentSlots.length - 1) / this.contentSlots.length);
+    }
+
+    /**
+     * Creates the button of a content item.
+     *
+     * @param <T> the type of the content items.
+     */
+    @FunctionalInterface
+    public interface ButtonFactory<T> {
+
+        /**
+         * Creates the button of a content item.
+         * <p>
+         * May be called from any thread, see {@link PagedMenuSource#getButtons(int)}.
+         *
+         * @param item  the content item.
+         * @param slot  the slot the button must be placed in.
+         * @param index the index of the item in the content list.
+         * @return the button.
+         */
+        @NotNull
+        IMenuButton create(@NotNull T item, int slot, int index);
+    }
+}
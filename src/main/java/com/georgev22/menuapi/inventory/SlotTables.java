@@ -0,0 +1,53 @@
+package com.georgev22.menuapi.inventory;
+
+import com.georgev22.menuapi.api.inventory.components.IMenuButton;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * The slot tables of the pages of a menu or a {@link MenuPrototype}, keeping the {@link #MAXIMUM_SIZE} most recently
+ * used pages.
+ * <p>
+ * A menu without a page maximum can be asked for any page, so the tables are bounded instead of being kept for
+ * every page ever requested. An evicted table is rebuilt from the page index when its page is requested again.
+ */
+final class SlotTables {
+
+    /**
+     * The maximum number of slot tables kept.
+     */
+    static final int MAXIMUM_SIZE = 64;
+
+    private final Map<Integer, IMenuButton[]> tables = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, IMenuButton[]> eldest) {
+            return size() > MAXIMUM_SIZE;
+        }
+    };
+
+    /**
+     * Retrieves the slot table of a page, building it if it is not kept.
+     *
+     * @param page    the page.
+     * @param builder builds the slot table of a page.
+     * @return the slot table.
+     */
+    synchronized IMenuButton @NotNull [] get(int page, @NotNull IntFunction<IMenuButton[]> builder) {
+        IMenuButton[] slots = this.tables.get(page);
+        if (slots == null) {
+            slots = builder.apply(page);
+            this.tables.put(page, slots);
+        }
+        return slots;
+    }
+
+    /**
+     * Drops every slot table.
+     */
+    synchronized void clear() {
+        this.tables.clear();
+    }
+}
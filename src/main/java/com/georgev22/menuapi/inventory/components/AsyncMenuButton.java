@@ -0,0 +1,88 @@
+package com.georgev22.menuapi.inventory.components;
+
+import com.georgev22.menuapi.api.inventory.PageRange;
+import com.georgev22.menuapi.utilities.MenuExecutors;
+import com.georgev22.menuapi.utilities.SerializableItemStack;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+
+/**
+ * A menu button whose click handler runs off the main thread.
+ * <p>
+ * When the button is clicked, an immutable {@link ClickContext} is taken on the main thread and
+ * {@link #handle(ClickContext)} runs on {@link #getExecutor()}, by default {@link MenuExecutors#getExecutor()}
+ * (virtual threads on Java 21+). The handler can block on I/O without holding up the tick, and applies its
+ * results through the context, which runs them on the main thread only if the player still views the same page.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * new AsyncMenuButton(item, 22, new PageRange(1, 1)) {
+ *     @Override
+ *     public void handle(ClickContext context) throws Exception {
+ *         boolean bought = shop.purchase(context.getPlayer().getUniqueId(), "sword"); // Blocking database call
+ *         context.setItem(bought ? soldOutItem : item);
+ *     }
+ * };
+ * }</pre>
+ */
+public abstract class AsyncMenuButton extends AMenuButton {
+
+    private static final JavaPlugin PLUGIN = JavaPlugin.getProvidingPlugin(AsyncMenuButton.class);
+
+    /**
+     * Constructs a new AsyncMenuButton.
+     *
+     * @param item      the item to be displayed on the button
+     * @param slot      the slot number of the button
+     * @param pageRange the page range of the button
+     */
+    public AsyncMenuButton(SerializableItemStack item, int slot, PageRange pageRange) {
+        super(item, slot, pageRange);
+    }
+
+    /**
+     * Takes a snapshot of the click and runs {@link #handle(ClickContext)} on {@link #getExecutor()}.
+     *
+     * @param player The player who clicked the button.
+     * @param event  The click event.
+     */
+    @Override
+    public final void clickEvent(Player player, InventoryClickEvent event) {
+        ClickContext context = new ClickContext(player, this, event);
+        try {
+            getExecutor().execute(() -> {
+                try {
+                    handle(context);
+                } catch (Throwable throwable) {
+                    PLUGIN.getLogger().log(Level.WARNING, "Async click handler failed (" + context + ")", throwable);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Never run the handler on the main thread, it may block.
+            PLUGIN.getLogger().log(Level.WARNING, "Async click handler rejected, the executor is saturated (" + context + ")", e);
+        }
+    }
+
+    /**
+     * Handles the click off the main thread.
+     *
+     * @param context The snapshot of the click.
+     * @throws Exception if the click could not be handled, the exception is logged.
+     */
+    public abstract void handle(@NotNull ClickContext context) throws Exception;
+
+    /**
+     * Retrieves the executor the click handler runs on.
+     *
+     * @return the executor.
+     */
+    protected @NotNull Executor getExecutor() {
+        return MenuExecutors.getExecutor();
+    }
+}
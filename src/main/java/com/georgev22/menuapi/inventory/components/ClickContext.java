@@ -0,0 +1,239 @@
+package com.georgev22.menuapi.inventory.components;
+
+import com.georgev22.menuapi.api.inventory.IMenu;
+import com.georgev22.menuapi.api.inventory.MenuInventoryHolder;
+import com.georgev22.menuapi.api.inventory.Viewer;
+import com.georgev22.menuapi.api.inventory.ViewerManager;
+import com.georgev22.menuapi.api.inventory.components.IMenuButton;
+import com.georgev22.menuapi.inventory.Menu;
+import com.georgev22.menuapi.utilities.SerializableItemStack;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An immutable snapshot of a menu click, handed to {@link AsyncMenuButton#handle(ClickContext)}.
+ * <p>
+ * The snapshot is taken on the main thread when the click happens, so it can be read from any thread.
+ * Changes to the menu, the inventory or the items must go through {@link #sync(Runnable)} or one of
+ * its shortcuts, which run them on the main thread, and only if the click is not stale by then.
+ * A click is stale once the player closed the menu, opened another inventory, switched page or went offline.
+ */
+public final class ClickContext {
+
+    private static final JavaPlugin PLUGIN = JavaPlugin.getProvidingPlugin(ClickContext.class);
+
+    private final Player player;
+    private final IMenu menu;
+    private final IMenuButton button;
+    private final Viewer viewer;
+    private final Inventory inventory;
+    private final int page;
+    private final int slot;
+    private final ClickType click;
+    private final InventoryAction action;
+    private final int hotbarButton;
+    private final ItemStack currentItem;
+    private final ItemStack cursor;
+
+    ClickContext(@NotNull Player player, @NotNull IMenuButton button, @NotNull InventoryClickEvent event) {
+        Inventory inventory = event.getView().getTopInventory();
+        this.player = player;
+        this.menu = ((MenuInventoryHolder) inventory.getHolder()).getMenu();
+        this.button = button;
+        this.viewer = this.menu instanceof Menu menu ? ViewerManager.getViewer(menu, player) : null;
+        this.inventory = inventory;
+        this.page = this.menu.getPage(player);
+        this.slot = event.getSlot();
+        this.click = event.getClick();
+        this.action = event.getAction();
+        this.hotbarButton = event.getHotbarButton();
+        this.currentItem = event.getCurrentItem() != null ? event.getCurrentItem().clone() : null;
+        this.cursor = event.getCursor() != null ? event.getCursor().clone() : null;
+    }
+
+    /**
+     * Retrieves the player who clicked.
+     * <p>
+     * Only thread-safe methods of the player may be called off the main thread.
+     *
+     * @return the player.
+     */
+    public @NotNull Player getPlayer() {
+        return this.player;
+    }
+
+    /**
+     * Retrieves the menu that was clicked.
+     *
+     * @return the menu.
+     */
+    public @NotNull IMenu getMenu() {
+        return this.menu;
+    }
+
+    /**
+     * Retrieves the button that was clicked.
+     *
+     * @return the button.
+     */
+    public @NotNull IMenuButton getButton() {
+        return this.button;
+    }
+
+    /**
+     * Retrieves the page the player was viewing when clicking.
+     *
+     * @return the page.
+     */
+    public int getPage() {
+        return this.page;
+    }
+
+    /**
+     * Retrieves the clicked slot.
+     *
+     * @return the slot.
+     */
+    public int getSlot() {
+        return this.slot;
+    }
+
+    /**
+     * Retrieves the type of the click.
+     *
+     * @return the click type.
+     */
+    public @NotNull ClickType getClick() {
+        return this.click;
+    }
+
+    /**
+     * Retrieves the action of the click.
+     *
+     * @return the inventory action.
+     */
+    public @NotNull InventoryAction getAction() {
+        return this.action;
+    }
+
+    /**
+     * Retrieves the hotbar button pressed, if the click was a number key.
+     *
+     * @return the hotbar button, or -1.
+     */
+    public int getHotbarButton() {
+        return this.hotbarButton;
+    }
+
+    /**
+     * Retrieves a copy of the item in the clicked slot at the time of the click.
+     *
+     * @return the item, or {@code null} if the slot was empty.
+     */
+    public @Nullable ItemStack getCurrentItem() {
+        return this.currentItem != null ? this.currentItem.clone() : null;
+    }
+
+    /**
+     * Retrieves a copy of the item on the cursor at the time of the click.
+     *
+     * @return the item, or {@code null} if the cursor was empty.
+     */
+    public @Nullable ItemStack getCursor() {
+        return this.cursor != null ? this.cursor.clone() : null;
+    }
+
+    /**
+     * Checks whether the click is stale.
+     * <p>
+     * Must be called on the main thread.
+     *
+     * @return {@code true} if the player no longer views the page of the menu they clicked.
+     */
+    public boolean isStale() {
+        if (!this.player.isOnline()) return true;
+        if (this.player.getOpenInventory().getTopInventory().getHolder() != this.inventory.getHolder()) return true;
+        if (this.menu.getPage(this.player) != this.page) return true;
+        return this.viewer != null && this.menu instanceof Menu menu && ViewerManager.getViewer(menu, this.player) != this.viewer;
+    }
+
+    /**
+     * Runs a task on the main thread, unless the click is stale by then.
+     *
+     * @param task the task.
+     * @return a future completed with {@code true} if the task ran, or {@code false} if the click was stale.
+     */
+    public @NotNull CompletableFuture<Boolean> sync(@NotNull Runnable task) {
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        Runnable runnable = () -> {
+            try {
+                if (isStale()) {
+                    future.complete(false);
+                    return;
+                }
+                task.run();
+                future.complete(true);
+            } catch (Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        };
+        if (Bukkit.isPrimaryThread()) {
+            runnable.run();
+        } else {
+            Bukkit.getScheduler().runTask(PLUGIN, runnable);
+        }
+        return future;
+    }
+
+    /**
+     * Sets the item of the clicked button and writes it into the open inventories, unless the click is stale.
+     *
+     * @param item the new item of the button.
+     * @return a future completed with {@code true} if the item was set, or {@code false} if the click was stale.
+     */
+    public @NotNull CompletableFuture<Boolean> setItem(@NotNull SerializableItemStack item) {
+        return sync(() -> {
+            this.button.setItem(item);
+            this.menu.updateButton(this.button);
+        });
+    }
+
+    /**
+     * Switches the page of the player, unless the click is stale.
+     *
+     * @param page the page to switch to.
+     * @return a future completed with {@code true} if the page was switched, or {@code false} if the click was stale.
+     */
+    public @NotNull CompletableFuture<Boolean> setPage(int page) {
+        return sync(() -> this.menu.setPage(this.player, page));
+    }
+
+    /**
+     * Closes the menu for the player, unless the click is stale.
+     *
+     * @return a future completed with {@code true} if the menu was closed, or {@code false} if the click was stale.
+     */
+    public @NotNull CompletableFuture<Boolean> close() {
+        return sync(() -> this.menu.close(this.player));
+    }
+
+    @Override
+    public String toString() {
+        return "ClickContext{" +
+                "player=" + this.player.getName() +
+                ", page=" + this.page +
+                ", slot=" + this.slot +
+                ", click=" + this.click +
+                '}';
+    }
+}
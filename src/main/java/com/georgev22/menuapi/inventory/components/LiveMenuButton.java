@@ -0,0 +1,68 @@
+package com.georgev22.menuapi.inventory.components;
+
+import com.georgev22.menuapi.api.inventory.PageRange;
+import com.georgev22.menuapi.inventory.LiveButtonScheduler;
+import com.georgev22.menuapi.utilities.SerializableItemStack;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A menu button whose item is recomputed on an interval.
+ * <p>
+ * While the button is on a page that someone is viewing, the {@link LiveButtonScheduler} calls {@link #update()}
+ * every {@link #getInterval()} ticks and pushes the item to the open inventories if it changed.
+ * Buttons on pages nobody is viewing are not updated at all.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * new LiveMenuButton(item, 13, new PageRange(1, 1), 20) {
+ *     @Override
+ *     public SerializableItemStack update() {
+ *         return clockItem(LocalTime.now());
+ *     }
+ *
+ *     @Override
+ *     public void clickEvent(Player player, InventoryClickEvent event) {
+ *     }
+ * };
+ * }</pre>
+ */
+public abstract class LiveMenuButton extends AMenuButton {
+
+    private final long interval;
+
+    /**
+     * Constructs a new LiveMenuButton.
+     *
+     * @param item      the item to be displayed on the button until its first update
+     * @param slot      the slot number of the button
+     * @param pageRange the page range of the button
+     * @param interval  the number of ticks between two updates, at least 1
+     * @throws IllegalArgumentException if the interval is less than 1
+     */
+    public LiveMenuButton(SerializableItemStack item, int slot, PageRange pageRange, long interval) {
+        super(item, slot, pageRange);
+        if (interval < 1) {
+            throw new IllegalArgumentException("Interval must be greater than 0 (Interval = " + interval + ")");
+        }
+        this.interval = interval;
+    }
+
+    /**
+     * Retrieves the number of ticks between two updates.
+     *
+     * @return the interval in ticks.
+     */
+    public long getInterval() {
+        return this.interval;
+    }
+
+    /**
+     * Computes the item of the button.
+     * <p>
+     * Called on the main thread. Returning the current item, or one with an equal visual item,
+     * leaves the open inventories untouched.
+     *
+     * @return the new item of the button.
+     */
+    public abstract @NotNull SerializableItemStack update();
+}
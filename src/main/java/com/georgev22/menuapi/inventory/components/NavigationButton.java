@@ -0,0 +1,58 @@
+package com.georgev22.menuapi.inventory.components;
+
+import com.georgev22.menuapi.api.inventory.IMenu;
+import com.georgev22.menuapi.api.inventory.MenuInventoryHolder;
+import com.georgev22.menuapi.api.inventory.PageRange;
+import com.georgev22.menuapi.utilities.SerializableItemStack;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+
+/**
+ * A menu button that moves the player a fixed number of pages forward or backward.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * IMenuButton previous = new NavigationButton(previousItem, 45, new PageRange(2, -1), -1);
+ * IMenuButton next = new NavigationButton(nextItem, 53, new PageRange(1, -1), 1);
+ * }</pre>
+ */
+public class NavigationButton extends AMenuButton {
+
+    private final int offset;
+
+    /**
+     * Constructs a new NavigationButton.
+     *
+     * @param item      the item to be displayed on the button
+     * @param slot      the slot number of the button
+     * @param pageRange the page range of the button
+     * @param offset    the number of pages to move by, negative to move backward
+     */
+    public NavigationButton(SerializableItemStack item, int slot, PageRange pageRange, int offset) {
+        super(item, slot, pageRange);
+        this.offset = offset;
+    }
+
+    /**
+     * Retrieves the number of pages the button moves by.
+     *
+     * @return the offset, negative if the button moves backward.
+     */
+    public int getOffset() {
+        return this.offset;
+    }
+
+    /**
+     * Switches the player to the page {@link #getOffset()} pages away from the current one.
+     * Pages out of the range of the menu are ignored by {@link IMenu#setPage(Player, int)}.
+     *
+     * @param player The player who clicked the button.
+     * @param event  The click event.
+     */
+    @Override
+    public void clickEvent(Player player, InventoryClickEvent event) {
+        if (!(event.getView().getTopInventory().getHolder() instanceof MenuInventoryHolder menuInventoryHolder)) return;
+        IMenu menu = menuInventoryHolder.getMenu();
+        menu.setPage(player, menu.getPage(player) + this.offset);
+    }
+}
@@ -0,0 +1,223 @@
+package com.georgev22.menuapi.inventory.components;
+
+import com.georgev22.menuapi.api.inventory.PageRange;
+import com.georgev22.menuapi.utilities.PlaceholderTemplate;
+import com.georgev22.menuapi.utilities.SerializableItemStack;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A menu button whose display name and lore contain per-player {@code {placeholder}}s.
+ * <p>
+ * The name and lore of the visual item are compiled into {@link PlaceholderTemplate}s once, when the item is set.
+ * Rendering resolves the placeholders through the {@link PlaceholderResolver} and builds the item of a player,
+ * which is cached per player together with the resolved values. The cached item is reused until
+ * {@link #invalidate()} is called or, through {@link com.georgev22.menuapi.api.inventory.IMenu#refresh(Player)},
+ * until the resolved values actually change.
+ * <p>
+ * The cache holds players weakly, so entries of players who left are dropped with their {@link Player} object.
+ * In a shared menu, every viewer of a page sees the same inventory, so placeholders are left unresolved there.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * // Item named "{player}" with the lore "Balance: {balance}"
+ * new TemplateMenuButton(item, 4, new PageRange(1, 1), (player, placeholder) -> switch (placeholder) {
+ *     case "player" -> player.getName();
+ *     case "balance" -> String.valueOf(economy.getBalance(player));
+ *     default -> null;
+ * }) {
+ *     @Override
+ *     public void clickEvent(Player player, InventoryClickEvent event) {
+ *     }
+ * };
+ * }</pre>
+ */
+public abstract class TemplateMenuButton extends AMenuButton {
+
+    private final PlaceholderResolver resolver;
+    private final Map<Player, Rendered> cache = Collections.synchronizedMap(new WeakHashMap<>());
+    private final AtomicLong version = new AtomicLong();
+    private volatile Templates templates;
+
+    /**
+     * Constructs a new TemplateMenuButton.
+     *
+     * @param item      the item to be displayed on the button, whose name and lore may contain placeholders
+     * @param slot      the slot number of the button
+     * @param pageRange the page range of the button
+     * @param resolver  the resolver of the placeholders
+     */
+    public TemplateMenuButton(SerializableItemStack item, int slot, PageRange pageRange, @NotNull PlaceholderResolver resolver) {
+        super(item, slot, pageRange);
+        this.resolver = resolver;
+        this.templates = compile(item);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The name and lore of the new item are compiled, and every cached item is dropped.
+     */
+    @Override
+    public void setItem(SerializableItemStack item) {
+        super.setItem(item);
+        this.templates = compile(item);
+        invalidate();
+    }
+
+    /**
+     * Renders the item of the button for a player.
+     * <p>
+     * The cached item is returned if the button was not invalidated since it was built.
+     * The returned item is shared and must not be modified.
+     * <p>
+     * A button without an item renders as {@code null}, which {@link org.bukkit.inventory.Inventory#setItem(int, ItemStack)}
+     * treats as an empty slot.
+     *
+     * @param player the player to render the item for.
+     * @return the item of the player, or {@code null} if the button has no item.
+     */
+    public @Nullable ItemStack render(@NotNull Player player) {
+        Templates templates = this.templates;
+        if (templates.isConstant()) return templates.base;
+        long version = this.version.get();
+        Rendered rendered = this.cache.get(player);
+        if (rendered != null && rendered.version == version) return rendered.item;
+        return resolve(player, templates, version, rendered).item;
+    }
+
+    /**
+     * Resolves the placeholders of a player and checks whether they changed since the item was last rendered.
+     * <p>
+     * If they changed, the new item is built and cached, so that the following {@link #render(Player)} returns it.
+     *
+     * @param player the player to check.
+     * @return {@code true} if the item of the player has to be written again.
+     */
+    public boolean isStale(@NotNull Player player) {
+        Templates templates = this.templates;
+        if (templates.isConstant()) return false;
+        Rendered rendered = this.cache.get(player);
+        return resolve(player, templates, this.version.get(), rendered) != rendered;
+    }
+
+    /**
+     * Drops the cached items of every player, the placeholders are resolved again on the next render.
+     */
+    public void invalidate() {
+        this.version.incrementAndGet();
+    }
+
+    /**
+     * Drops the cached item of a player, the placeholders are resolved again on the next render.
+     *
+     * @param player the player.
+     */
+    public void invalidate(@NotNull Player player) {
+        this.cache.remove(player);
+    }
+
+    private @NotNull Rendered resolve(@NotNull Player player, @NotNull Templates templates, long version, @Nullable Rendered previous) {
+        String[] keys = templates.placeholders;
+        String[] values = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = this.resolver.resolve(player, keys[i]);
+        }
+
+        Rendered rendered;
+        if (previous != null && previous.templates == templates && Arrays.equals(previous.values, values)) {
+            if (previous.version == version) return previous;
+            rendered = new Rendered(templates, version, values, previous.item);
+            // Same values, same item: the caller does not have to write it again.
+            this.cache.put(player, rendered);
+            return previous;
+        }
+        rendered = new Rendered(templates, version, values, templates.build(keys, values));
+        this.cache.put(player, rendered);
+        return rendered;
+    }
+
+    private static @NotNull Templates compile(@Nullable SerializableItemStack item) {
+        ItemStack base = item != null ? item.getSharedVisualItemStack() : null;
+        ItemMeta meta = base != null && base.hasItemMeta() ? base.getItemMeta() : null;
+        //noinspection deprecation
+        PlaceholderTemplate name = meta != null && meta.hasDisplayName() ? PlaceholderTemplate.compile(meta.getDisplayName()) : null;
+        List<PlaceholderTemplate> lore = null;
+        if (meta != null && meta.hasLore()) {
+            lore = new ArrayList<>();
+            //noinspection deprecation
+            for (String line : meta.getLore()) {
+                lore.add(PlaceholderTemplate.compile(line));
+            }
+        }
+
+        Set<String> placeholders = new LinkedHashSet<>();
+        if (name != null) placeholders.addAll(name.getPlaceholders());
+        if (lore != null) lore.forEach(line -> placeholders.addAll(line.getPlaceholders()));
+        return new Templates(base, name, lore, placeholders.toArray(new String[0]));
+    }
+
+    /**
+     * Resolves the placeholders of template buttons.
+     */
+    @FunctionalInterface
+    public interface PlaceholderResolver {
+
+        /**
+         * Resolves a placeholder for a player.
+         *
+         * @param player      the player the item is rendered for.
+         * @param placeholder the name of the placeholder, without braces.
+         * @return the value of the placeholder, or {@code null} to keep it as written.
+         */
+        @Nullable String resolve(@NotNull Player player, @NotNull String placeholder);
+    }
+
+    /**
+     * The compiled name and lore of an item.
+     */
+    private record Templates(ItemStack base, PlaceholderTemplate name, List<PlaceholderTemplate> lore, String[] placeholders) {
+
+        private boolean isConstant() {
+            return this.placeholders.length == 0;
+        }
+
+        private @NotNull ItemStack build(String @NotNull [] keys, String @NotNull [] values) {
+            ItemStack item = this.base.clone();
+            ItemMeta meta = item.getItemMeta();
+            Function<String, String> lookup = placeholder -> {
+                for (int i = 0; i < keys.length; i++) {
+                    if (keys[i].equals(placeholder)) return values[i];
+                }
+                return null;
+            };
+            if (this.name != null) {
+                //noinspection deprecation
+                meta.setDisplayName(this.name.resolve(lookup));
+            }
+            if (this.lore != null) {
+                List<String> lore = new ArrayList<>(this.lore.size());
+                for (PlaceholderTemplate line : this.lore) {
+                    lore.add(line.resolve(lookup));
+                }
+                //noinspection deprecation
+                meta.setLore(lore);
+            }
+            item.setItemMeta(meta);
+            return item;
+        }
+    }
+
+    /**
+     * The item of a player, with the values it was built from.
+     */
+    private record Rendered(Templates templates, long version, String[] values, ItemStack item) {
+    }
+}
@@ -0,0 +1,286 @@
+package com.georgev22.menuapi.listener;
+
+import com.georgev22.menuapi.api.inventory.components.IMenuButton;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits how often players can click menu buttons.
+ *
+ * <p>Every player has a token bucket holding up to {@code capacity} clicks, refilled at {@code clicksPerSecond}.
+ * A click without a token is dropped. On top of that, a click on the same button as the previous accepted click
+ * is dropped if it comes within {@code debounceMillis}, so a double click does not run a handler twice.
+ * </p>
+ *
+ * <p>Buttons can have a limit of their own with {@link #setButtonLimit(IMenuButton, int, double)}, for example
+ * a purchase button. Each player then has a separate bucket for that button, checked before the player's bucket;
+ * a click the player's bucket drops gives its token back to the button's bucket. A button limit is kept until it is
+ * removed with {@link #removeButtonLimit(IMenuButton)}.
+ * </p>
+ *
+ * <p>The bucket is kept as a single theoretical arrival time updated with compare-and-set (GCRA), and the limits and
+ * buckets are held in concurrent maps, so checking a click is lock-free. Dropped and accepted clicks are counted.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * // Bursts of up to 5 clicks, 4 clicks per second sustained, no double clicks within 100 ms.
+ * ClickRateLimiter clickRateLimiter = new ClickRateLimiter(5, 4, 100);
+ * // At most one purchase per second, bursts of 2.
+ * clickRateLimiter.setButtonLimit(buyButton, 2, 1);
+ * Bukkit.getPluginManager().registerEvents(new InventoryListener(clickRateLimiter), plugin);
+ * }</pre>
+ * </p>
+ */
+public final class ClickRateLimiter {
+
+    /**
+     * The default number of clicks a player can burst.
+     */
+    public static final int DEFAULT_CAPACITY = 10;
+
+    /**
+     * The default number of clicks per second a player can sustain.
+     */
+    public static final double DEFAULT_CLICKS_PER_SECOND = 10;
+
+    /**
+     * The default time in milliseconds in which a second click on the same button is dropped.
+     */
+    public static final long DEFAULT_DEBOUNCE_MILLIS = 50;
+
+    private final long emissionInterval;
+    private final long tolerance;
+    private final long debounce;
+    private final int capacity;
+    private final double clicksPerSecond;
+
+    private final Map<UUID, State> states = new ConcurrentHashMap<>();
+    private final Map<IMenuButton, Limit> buttonLimits = new ConcurrentHashMap<>();
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder debounced = new LongAdder();
+
+    /**
+     * Creates a click rate limiter with the default limits.
+     */
+    public ClickRateLimiter() {
+        this(DEFAULT_CAPACITY, DEFAULT_CLICKS_PER_SECOND, DEFAULT_DEBOUNCE_MILLIS);
+    }
+
+    /**
+     * Creates a click rate limiter.
+     *
+     * @param capacity        the number of clicks a player can burst, at least 1.
+     * @param clicksPerSecond the number of clicks per second a player can sustain, greater than 0.
+     * @param debounceMillis  the time in milliseconds in which a second click on the same button is dropped,
+     *                        0 to disable debouncing.
+     * @throws IllegalArgumentException if a limit is out of range.
+     */
+    public ClickRateLimiter(int capacity, double clicksPerSecond, long debounceMillis) {
+        validate(capacity, clicksPerSecond);
+        if (debounceMillis < 0) {
+            throw new IllegalArgumentException("Debounce must not be negative (Debounce = " + debounceMillis + ")");
+        }
+        this.capacity = capacity;
+        this.clicksPerSecond = clicksPerSecond;
+        this.emissionInterval = (long) (TimeUnit.SECONDS.toNanos(1) / clicksPerSecond);
+        this.tolerance = this.emissionInterval * (capacity - 1);
+        this.debounce = TimeUnit.MILLISECONDS.toNanos(debounceMillis);
+    }
+
+    private static void validate(int capacity, double clicksPerSecond) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be greater than 0 (Capacity = " + capacity + ")");
+        }
+        if (!(clicksPerSecond > 0)) {
+            throw new IllegalArgumentException("Clicks per second must be greater than 0 (Clicks per second = " + clicksPerSecond + ")");
+        }
+    }
+
+    /**
+     * Limits the clicks of every player on a button, on top of the limit of the player.
+     *
+     * @param button          the button.
+     * @param capacity        the number of clicks a player can burst on the button, at least 1.
+     * @param clicksPerSecond the number of clicks per second a player can sustain on the button, greater than 0.
+     * @throws IllegalArgumentException if a limit is out of range.
+     */
+    public void setButtonLimit(@NotNull IMenuButton button, int capacity, double clicksPerSecond) {
+        validate(capacity, clicksPerSecond);
+        long emissionInterval = (long) (TimeUnit.SECONDS.toNanos(1) / clicksPerSecond);
+        this.buttonLimits.put(button, new Limit(emissionInterval, emissionInterval * (capacity - 1)));
+    }
+
+    /**
+     * Removes the limit of a button.
+     *
+     * @param button the button.
+     */
+    public void removeButtonLimit(@NotNull IMenuButton button) {
+        this.buttonLimits.remove(button);
+        for (State state : this.states.values()) {
+            state.buttonArrivals.remove(button);
+        }
+    }
+
+    /**
+     * Checks whether a click of a player on a button is allowed, consuming a token if it is.
+     *
+     * @param player the player who clicked.
+     * @param button the button that was clicked.
+     * @return {@code true} if the click should be dispatched to the button.
+     */
+    public boolean tryAcquire(@NotNull Player player, @NotNull IMenuButton button) {
+        long now = System.nanoTime();
+        State state = this.states.computeIfAbsent(player.getUniqueId(), uuid -> new State(now));
+
+        if (this.debounce > 0) {
+            Click last = state.lastClick.get();
+            if (last != null && last.button == button && now - last.time < this.debounce) {
+                this.debounced.increment();
+                return false;
+            }
+        }
+
+        Limit limit = this.buttonLimits.isEmpty() ? null : this.buttonLimits.get(button);
+        AtomicLong buttonArrival = limit != null ? state.getButtonArrival(button, now) : null;
+        if (buttonArrival != null && !acquire(buttonArrival, now, limit.emissionInterval, limit.tolerance)) {
+            this.rateLimited.increment();
+            return false;
+        }
+        if (!acquire(state.arrival, now, this.emissionInterval, this.tolerance)) {
+            if (buttonArrival != null) {
+                // The click is dropped, so it must not spend the button's burst.
+                buttonArrival.addAndGet(-limit.emissionInterval);
+            }
+            this.rateLimited.increment();
+            return false;
+        }
+
+        if (this.debounce > 0) {
+            state.lastClick.set(new Click(button, now));
+        }
+        this.accepted.increment();
+        return true;
+    }
+
+    private static boolean acquire(@NotNull AtomicLong bucket, long now, long emissionInterval, long tolerance) {
+        long arrival;
+        long next;
+        do {
+            arrival = bucket.get();
+            if (arrival - tolerance > now) {
+                return false;
+            }
+            next = Math.max(arrival, now) + emissionInterval;
+        } while (!bucket.compareAndSet(arrival, next));
+        return true;
+    }
+
+    /**
+     * Forgets the state of a player.
+     *
+     * @param player the player.
+     */
+    public void remove(@NotNull Player player) {
+        this.states.remove(player.getUniqueId());
+    }
+
+    /**
+     * Retrieves the number of clicks a player can burst.
+     *
+     * @return the capacity.
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Retrieves the number of clicks per second a player can sustain.
+     *
+     * @return the clicks per second.
+     */
+    public double getClicksPerSecond() {
+        return this.clicksPerSecond;
+    }
+
+    /**
+     * Retrieves the time in which a second click on the same button is dropped.
+     *
+     * @return the debounce in milliseconds.
+     */
+    public long getDebounceMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.debounce);
+    }
+
+    /**
+     * Retrieves the number of accepted clicks.
+     *
+     * @return the number of clicks dispatched to buttons.
+     */
+    public long getAccepted() {
+        return this.accepted.sum();
+    }
+
+    /**
+     * Retrieves the number of clicks dropped because the player ran out of tokens.
+     *
+     * @return the number of rate limited clicks.
+     */
+    public long getRateLimited() {
+        return this.rateLimited.sum();
+    }
+
+    /**
+     * Retrieves the number of clicks dropped as a repeated click on the same button.
+     *
+     * @return the number of debounced clicks.
+     */
+    public long getDebounced() {
+        return this.debounced.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "ClickRateLimiter{" +
+                "capacity=" + this.capacity +
+                ", clicksPerSecond=" + this.clicksPerSecond +
+                ", debounceMillis=" + getDebounceMillis() +
+                ", accepted=" + getAccepted() +
+                ", rateLimited=" + getRateLimited() +
+                ", debounced=" + getDebounced() +
+                '}';
+    }
+
+    private record Click(IMenuButton button, long time) {
+    }
+
+    private record Limit(long emissionInterval, long tolerance) {
+    }
+
+    private static final class State {
+
+        private final AtomicLong arrival;
+        private final AtomicReference<Click> lastClick = new AtomicReference<>();
+        private final Map<IMenuButton, AtomicLong> buttonArrivals = new ConcurrentHashMap<>();
+
+        private State(long now) {
+            this.arrival = new AtomicLong(now);
+        }
+
+        private @NotNull AtomicLong getButtonArrival(@NotNull IMenuButton button, long now) {
+            AtomicLong arrival = this.buttonArrivals.get(button);
+            return arrival != null ? arrival : this.buttonArrivals.computeIfAbsent(button, key -> new AtomicLong(now));
+        }
+    }
+}
@@ -2,16 +2,57 @@ package com.georgev22.menuapi.listener;
 
 import com.georgev22.menuapi.api.inventory.components.IMenuButton;
 import com.georgev22.menuapi.api.inventory.MenuInventoryHolder;
+import com.georgev22.menuapi.api.inventory.ViewerManager;
+import com.georgev22.menuapi.inventory.LiveButtonScheduler;
+import com.georgev22.menuapi.metrics.ClickDispatchEvent;
+import com.georgev22.menuapi.metrics.MenuMetrics;
+import com.georgev22.menuapi.metrics.MetricsExporter;
+import com.georgev22.menuapi.utilities.MenuExecutors;
+import com.georgev22.menuapi.utilities.PacketDispatcher;
+import com.georgev22.menuapi.utilities.TitleScheduler;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
 import org.bukkit.inventory.Inventory;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 public class InventoryListener implements Listener {
 
+    private final ClickRateLimiter clickRateLimiter;
+
+    /**
+     * Creates an inventory listener dispatching every click.
+     * <p>
+     * Click limiting is opt-in, see {@link #InventoryListener(ClickRateLimiter)}.
+     */
+    public InventoryListener() {
+        this(null);
+    }
+
+    /**
+     * Creates an inventory listener limiting clicks with the given {@link ClickRateLimiter}.
+     *
+     * @param clickRateLimiter the click rate limiter, or {@code null} to dispatch every click.
+     */
+    public InventoryListener(@Nullable ClickRateLimiter clickRateLimiter) {
+        this.clickRateLimiter = clickRateLimiter;
+    }
+
+    /**
+     * Retrieves the click rate limiter of the listener.
+     *
+     * @return the click rate limiter, or {@code null} if clicks are not limited.
+     */
+    public @Nullable ClickRateLimiter getClickRateLimiter() {
+        return this.clickRateLimiter;
+    }
+
     @EventHandler
     public void onInventoryClick(InventoryClickEvent event) {
         Inventory inventory = event.getView().getTopInventory();
@@ -32,12 +73,58 @@ public class InventoryListener implements Listener {
 
         event.setCancelled(true);
 
-        Optional<IMenuButton> button = menuInventoryHolder.getMenu().getButtons().stream()
-                .filter(b -> b.getPageRange().isPageInRange(menuInventoryHolder.getMenu().getPage(player)))
-                .filter(b -> b.getSlot() == event.getSlot()).findFirst();
+        long start = System.nanoTime();
+        ClickDispatchEvent dispatchEvent = new ClickDispatchEvent();
+        dispatchEvent.begin();
+        IMenuButton button = null;
+        boolean rateLimited = false;
+        try {
+            button = menuInventoryHolder.getMenu().getButton(player, event.getSlot());
+            if (button == null) {
+                return;
+            }
+
+            if (this.clickRateLimiter != null && !this.clickRateLimiter.tryAcquire(player, button)) {
+                rateLimited = true;
+                return;
+            }
+
+            long clickStart = System.nanoTime();
+            button.clickEvent(player, event);
+            MenuMetrics.BUTTON_CLICK.recordSince(clickStart);
+        } finally {
+            MenuMetrics.CLICK_DISPATCH.recordSince(start);
+            if (dispatchEvent.shouldCommit()) {
+                dispatchEvent.menuClass = menuInventoryHolder.getMenu().getClass();
+                dispatchEvent.player = player.getName();
+                dispatchEvent.slot = event.getSlot();
+                dispatchEvent.buttonClass = button != null ? button.getClass() : null;
+                dispatchEvent.rateLimited = rateLimited;
+                dispatchEvent.commit();
+            }
+        }
+    }
 
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        ViewerManager.removeViewers(event.getPlayer());
+        TitleScheduler.cancel(event.getPlayer());
+        PacketDispatcher.discard(event.getPlayer());
+        if (this.clickRateLimiter != null) {
+            this.clickRateLimiter.remove(event.getPlayer());
+        }
+    }
+
+    @EventHandler
+    public void onPluginDisable(PluginDisableEvent event) {
+        if (event.getPlugin() != JavaPlugin.getProvidingPlugin(InventoryListener.class)) {
+            return;
+        }
 
-        button.ifPresent(inventoryButton -> inventoryButton.clickEvent(player, event));
+        LiveButtonScheduler.stop();
+        PacketDispatcher.shutdown(5, TimeUnit.SECONDS);
+        MenuExecutors.shutdown(5, TimeUnit.SECONDS);
+        MetricsExporter.stop();
     }
 
 }
@@ -0,0 +1,29 @@
+package com.georgev22.menuapi.metrics;
+
+import jdk.jfr.*;
+
+/**
+ * Emitted when a click in a menu is handled, including the click handler of the button.
+ */
+@Name("com.georgev22.menuapi.ClickDispatch")
+@Label("Click Dispatch")
+@Category({"MenuAPI", "Menu"})
+@StackTrace(false)
+public final class ClickDispatchEvent extends Event {
+
+    @Label("Menu Class")
+    public Class<?> menuClass;
+
+    @Label("Player")
+    public String player;
+
+    @Label("Slot")
+    public int slot;
+
+    @Label("Button Class")
+    @Description("The class of the clicked button, null if the slot is empty")
+    public Class<?> buttonClass;
+
+    @Label("Rate Limited")
+    public boolean rateLimited;
+}
@@ -0,0 +1,152 @@
+package com.georgev22.menuapi.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of non-negative values with power-of-two buckets.
+ *
+ * <p>A value {@code v} is counted in bucket {@code 64 - numberOfLeadingZeros(v)}, so bucket {@code i} holds the values
+ * in {@code [2^(i-1), 2^i)}. Every bucket, the count and the sum are striped {@link LongAdder}s, which makes recording
+ * a few uncontended increments, cheap enough to leave on in production. Percentiles are accurate to a factor of two.
+ * </p>
+ */
+public final class Histogram {
+
+    private static final int BUCKETS = 65;
+
+    private final String name;
+    private final String unit;
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Creates a histogram.
+     *
+     * @param name the name of the histogram, in {@code snake_case}.
+     * @param unit the unit of the recorded values, in {@code snake_case}.
+     */
+    public Histogram(@NotNull String name, @NotNull String unit) {
+        this.name = name;
+        this.unit = unit;
+        for (int i = 0; i < BUCKETS; i++) {
+            this.buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a value, if metrics are enabled.
+     *
+     * @param value the value, negative values are recorded as 0.
+     * @see MenuMetrics#isEnabled()
+     */
+    public void record(long value) {
+        if (!MenuMetrics.isEnabled()) return;
+        if (value < 0) value = 0;
+        this.buckets[64 - Long.numberOfLeadingZeros(value)].increment();
+        this.count.increment();
+        this.sum.add(value);
+        this.max.accumulate(value);
+    }
+
+    /**
+     * Records the time elapsed since the given {@link System#nanoTime()}, if metrics are enabled.
+     *
+     * @param startNanos the start time, from {@link System#nanoTime()}.
+     */
+    public void recordSince(long startNanos) {
+        if (!MenuMetrics.isEnabled()) return;
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Retrieves the name of the histogram.
+     *
+     * @return the name.
+     */
+    public @NotNull String getName() {
+        return this.name;
+    }
+
+    /**
+     * Retrieves the unit of the recorded values.
+     *
+     * @return the unit.
+     */
+    public @NotNull String getUnit() {
+        return this.unit;
+    }
+
+    /**
+     * Takes a snapshot of the histogram.
+     * <p>
+     * Values recorded while the snapshot is taken may be partially included.
+     *
+     * @return the snapshot.
+     */
+    public @NotNull Snapshot snapshot() {
+        long[] buckets = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = this.buckets[i].sum();
+        }
+        return new Snapshot(this.name, this.unit, this.count.sum(), this.sum.sum(), this.max.get(), buckets);
+    }
+
+    /**
+     * Resets the histogram.
+     */
+    public void reset() {
+        for (LongAdder bucket : this.buckets) {
+            bucket.reset();
+        }
+        this.count.reset();
+        this.sum.reset();
+        this.max.reset();
+    }
+
+    /**
+     * A point-in-time view of a histogram.
+     *
+     * @param name    the name of the histogram.
+     * @param unit    the unit of the recorded values.
+     * @param count   the number of recorded values.
+     * @param sum     the sum of the recorded values.
+     * @param max     the largest recorded value.
+     * @param buckets the number of values per power-of-two bucket.
+     */
+    public record Snapshot(@NotNull String name, @NotNull String unit, long count, long sum, long max, long @NotNull [] buckets) {
+
+        /**
+         * Retrieves the mean of the recorded values.
+         *
+         * @return the mean, or 0 if no value was recorded.
+         */
+        public double mean() {
+            return this.count == 0 ? 0 : (double) this.sum / this.count;
+        }
+
+        /**
+         * Retrieves an upper bound of a percentile of the recorded values.
+         *
+         * @param quantile the quantile, between 0 and 1.
+         * @return the upper bound of the bucket holding the percentile, capped at {@link #max()}.
+         */
+        public long percentile(double quantile) {
+            if (this.count == 0) return 0;
+            long rank = (long) Math.ceil(quantile * this.count);
+            long seen = 0;
+            for (int i = 0; i < this.buckets.length; i++) {
+                seen += this.buckets[i];
+                if (seen >= rank && seen > 0) {
+                    long upperBound = i == 0 ? 0 : i >= 63 ? Long.MAX_VALUE : (1L << i) - 1;
+                    return Math.min(upperBound, this.max);
+                }
+            }
+            return this.max;
+        }
+    }
+}
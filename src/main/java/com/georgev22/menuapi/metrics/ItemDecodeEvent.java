@@ -0,0 +1,29 @@
+package com.georgev22.menuapi.metrics;
+
+import jdk.jfr.*;
+
+/**
+ * Emitted when a {@link com.georgev22.menuapi.utilities.SerializableItemStack} is decoded.
+ */
+@Name("com.georgev22.menuapi.ItemDecode")
+@Label("Item Decode")
+@Category({"MenuAPI", "Serialization"})
+@StackTrace(false)
+public final class ItemDecodeEvent extends Event {
+
+    @Label("Format")
+    @Description("nbt for the JSON text format, binary for the binary format")
+    public String format;
+
+    @Label("Size")
+    @DataAmount
+    @Description("The size of the payload, -1 if unknown")
+    public long bytes;
+
+    @Label("Item Stacks")
+    @Description("The number of ItemStacks in the payload, 2 when the visual ItemStack differs")
+    public int itemStacks;
+
+    @Label("Lazy")
+    public boolean lazy;
+}
@@ -0,0 +1,26 @@
+package com.georgev22.menuapi.metrics;
+
+import jdk.jfr.*;
+
+/**
+ * Emitted when a {@link com.georgev22.menuapi.utilities.SerializableItemStack} is encoded.
+ */
+@Name("com.georgev22.menuapi.ItemEncode")
+@Label("Item Encode")
+@Category({"MenuAPI", "Serialization"})
+@StackTrace(false)
+public final class ItemEncodeEvent extends Event {
+
+    @Label("Format")
+    @Description("nbt for the JSON text format, binary for the binary format")
+    public String format;
+
+    @Label("Size")
+    @DataAmount
+    @Description("The size of the payload, -1 if unknown")
+    public long bytes;
+
+    @Label("Item Stacks")
+    @Description("The number of ItemStacks in the payload, 2 when the visual ItemStack differs")
+    public int itemStacks;
+}
@@ -0,0 +1,180 @@
+package com.georgev22.menuapi.metrics;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The metrics recorded by MenuAPI.
+ *
+ * <p>Durations are recorded in nanoseconds, sizes in bytes. Recording is enabled by default and only costs
+ * a few striped counter increments; it can be turned off with {@link #setEnabled(boolean)}.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * MenuMetrics.Snapshot snapshot = MenuMetrics.snapshot();
+ * Histogram.Snapshot open = snapshot.get("menu_open");
+ * logger.info("Menus opened: " + open.count() + ", p99: " + open.percentile(0.99) / 1_000 + " us");
+ * }</pre>
+ * </p>
+ *
+ * <p>The same operations are also emitted as Java Flight Recorder events, such as {@link MenuOpenEvent},
+ * so they can be lined up with GC pauses and tick spikes. Those are independent of {@link #isEnabled()}
+ * and are only committed while a recording with the event enabled is running.
+ * </p>
+ *
+ * @see MetricsExporter
+ */
+public final class MenuMetrics {
+
+    /**
+     * Duration of {@code Menu#open}.
+     */
+    public static final Histogram MENU_OPEN = new Histogram("menu_open", "nanoseconds");
+
+    /**
+     * Duration of writing a page into an inventory, when opening a menu or switching page.
+     */
+    public static final Histogram PAGE_RENDER = new Histogram("page_render", "nanoseconds");
+
+    /**
+     * Duration of handling a click in a menu, including the button's click handler.
+     */
+    public static final Histogram CLICK_DISPATCH = new Histogram("click_dispatch", "nanoseconds");
+
+    /**
+     * Duration of {@code IMenuButton#clickEvent}.
+     */
+    public static final Histogram BUTTON_CLICK = new Histogram("button_click", "nanoseconds");
+
+    /**
+     * Duration of title updates that were sent to a player.
+     */
+    public static final Histogram TITLE_UPDATE = new Histogram("title_update", "nanoseconds");
+
+    /**
+     * Duration of encoding a {@code SerializableItemStack}.
+     */
+    public static final Histogram ITEM_ENCODE = new Histogram("item_encode", "nanoseconds");
+
+    /**
+     * Size of encoded {@code SerializableItemStack}s.
+     */
+    public static final Histogram ITEM_ENCODE_SIZE = new Histogram("item_encode_size", "bytes");
+
+    /**
+     * Duration of decoding a {@code SerializableItemStack}.
+     */
+    public static final Histogram ITEM_DECODE = new Histogram("item_decode", "nanoseconds");
+
+    /**
+     * Size of decoded {@code SerializableItemStack}s.
+     */
+    public static final Histogram ITEM_DECODE_SIZE = new Histogram("item_decode_size", "bytes");
+
+    private static final List<Histogram> HISTOGRAMS = List.of(
+            MENU_OPEN, PAGE_RENDER, CLICK_DISPATCH, BUTTON_CLICK, TITLE_UPDATE,
+            ITEM_ENCODE, ITEM_ENCODE_SIZE, ITEM_DECODE, ITEM_DECODE_SIZE
+    );
+
+    private static volatile boolean enabled = true;
+
+    private MenuMetrics() {
+    }
+
+    /**
+     * Checks whether metrics are recorded.
+     *
+     * @return {@code true} if metrics are recorded.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether metrics are recorded.
+     *
+     * @param enabled {@code true} to record metrics.
+     */
+    public static void setEnabled(boolean enabled) {
+        MenuMetrics.enabled = enabled;
+    }
+
+    /**
+     * Retrieves every histogram.
+     *
+     * @return the histograms.
+     */
+    public static @NotNull @Unmodifiable List<Histogram> getHistograms() {
+        return HISTOGRAMS;
+    }
+
+    /**
+     * Takes a snapshot of every histogram.
+     *
+     * @return the snapshot.
+     */
+    public static @NotNull Snapshot snapshot() {
+        List<Histogram.Snapshot> histograms = new ArrayList<>(HISTOGRAMS.size());
+        for (Histogram histogram : HISTOGRAMS) {
+            histograms.add(histogram.snapshot());
+        }
+        return new Snapshot(List.copyOf(histograms));
+    }
+
+    /**
+     * Resets every histogram.
+     */
+    public static void reset() {
+        HISTOGRAMS.forEach(Histogram::reset);
+    }
+
+    /**
+     * A point-in-time view of every histogram.
+     *
+     * @param histograms the snapshots of the histograms.
+     */
+    public record Snapshot(@NotNull @Unmodifiable List<Histogram.Snapshot> histograms) {
+
+        /**
+         * Retrieves the snapshot of a histogram.
+         *
+         * @param name the name of the histogram.
+         * @return the snapshot, or {@code null} if there is no histogram with that name.
+         */
+        public Histogram.Snapshot get(@NotNull String name) {
+            for (Histogram.Snapshot histogram : this.histograms) {
+                if (histogram.name().equals(name)) return histogram;
+            }
+            return null;
+        }
+
+        /**
+         * Formats the snapshot in the Prometheus text exposition format.
+         * <p>
+         * Every histogram is written as a summary named {@code menuapi_<name>_<unit>} with its count, sum
+         * and the 0.5, 0.9 and 0.99 quantiles, followed by a gauge named {@code menuapi_<name>_<unit>_max}.
+         *
+         * @return the formatted snapshot.
+         */
+        public @NotNull String toText() {
+            StringBuilder builder = new StringBuilder(2048);
+            for (Histogram.Snapshot histogram : this.histograms) {
+                String name = "menuapi_" + histogram.name() + '_' + histogram.unit();
+                builder.append("# TYPE ").append(name).append(" summary\n");
+                for (double quantile : new double[]{0.5, 0.9, 0.99}) {
+                    builder.append(name).append("{quantile=\"").append(quantile).append("\"} ")
+                            .append(histogram.percentile(quantile)).append('\n');
+                }
+                builder.append(name).append("_count ").append(histogram.count()).append('\n');
+                builder.append(name).append("_sum ").append(histogram.sum()).append('\n');
+                builder.append("# TYPE ").append(name).append("_max gauge\n");
+                builder.append(name).append("_max ").append(histogram.max()).append('\n');
+            }
+            return builder.toString();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.georgev22.menuapi.metrics;
+
+import jdk.jfr.*;
+
+/**
+ * Emitted when a menu is opened for a player.
+ */
+@Name("com.georgev22.menuapi.MenuOpen")
+@Label("Menu Open")
+@Category({"MenuAPI", "Menu"})
+@StackTrace(false)
+public final class MenuOpenEvent extends Event {
+
+    @Label("Menu Class")
+    public Class<?> menuClass;
+
+    @Label("Player")
+    public String player;
+
+    @Label("Page")
+    public int page;
+
+    @Label("Shared")
+    public boolean shared;
+}
@@ -0,0 +1,95 @@
+package com.georgev22.menuapi.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves {@link MenuMetrics} in the Prometheus text exposition format over HTTP.
+ *
+ * <p>The exporter is off by default. Once started, it listens on the loopback address only and answers
+ * {@code GET /metrics} from a single daemon thread. It is stopped when the plugin providing MenuAPI is disabled.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * MetricsExporter.start(9464);
+ * // curl http://127.0.0.1:9464/metrics
+ * MetricsExporter.stop();
+ * }</pre>
+ * </p>
+ */
+public final class MetricsExporter {
+
+    private static HttpServer server;
+    private static ExecutorService executor;
+
+    private MetricsExporter() {
+    }
+
+    /**
+     * Starts serving the metrics on the loopback address, stopping the previous server if any.
+     *
+     * @param port the port to listen on.
+     * @throws IOException if the server could not be started.
+     */
+    public static synchronized void start(int port) throws IOException {
+        stop();
+        HttpServer httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        httpServer.createContext("/metrics", MetricsExporter::handle);
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "MenuAPI-Metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        httpServer.setExecutor(executor);
+        httpServer.start();
+        server = httpServer;
+    }
+
+    /**
+     * Stops serving the metrics.
+     */
+    public static synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * Checks whether the metrics are being served.
+     *
+     * @return {@code true} if the exporter is running.
+     */
+    public static synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    private static void handle(@NotNull HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = MenuMetrics.snapshot().toText().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        }
+    }
+}
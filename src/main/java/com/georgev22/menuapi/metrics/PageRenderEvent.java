@@ -0,0 +1,26 @@
+package com.georgev22.menuapi.metrics;
+
+import jdk.jfr.*;
+
+/**
+ * Emitted when a page is written into an inventory, when opening a menu or switching page.
+ */
+@Name("com.georgev22.menuapi.PageRender")
+@Label("Page Render")
+@Category({"MenuAPI", "Menu"})
+@StackTrace(false)
+public final class PageRenderEvent extends Event {
+
+    @Label("Menu Class")
+    public Class<?> menuClass;
+
+    @Label("Page")
+    public int page;
+
+    @Label("Slots")
+    @Description("The number of slots written")
+    public int slots;
+
+    @Label("Shared")
+    public boolean shared;
+}
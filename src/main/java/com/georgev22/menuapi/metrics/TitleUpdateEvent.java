@@ -0,0 +1,19 @@
+package com.georgev22.menuapi.metrics;
+
+import jdk.jfr.*;
+
+/**
+ * Emitted when the title of a menu is sent to a player.
+ */
+@Name("com.georgev22.menuapi.TitleUpdate")
+@Label("Title Update")
+@Category({"MenuAPI", "Menu"})
+@StackTrace(false)
+public final class TitleUpdateEvent extends Event {
+
+    @Label("Player")
+    public String player;
+
+    @Label("Title")
+    public String title;
+}
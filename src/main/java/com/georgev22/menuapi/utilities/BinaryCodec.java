@@ -0,0 +1,228 @@
+package com.georgev22.menuapi.utilities;
+
+import com.georgev22.menuapi.exceptions.SerializerException;
+import de.tr7zw.changeme.nbtapi.NBT;
+import de.tr7zw.changeme.nbtapi.iface.ReadWriteNBT;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Low level primitives of the binary {@link SerializableItemStack} format.
+ *
+ * <p>Integers are written as unsigned LEB128 varints (signed values are zigzag encoded first),
+ * strings and byte arrays are prefixed with their varint encoded length and ItemStacks are written
+ * as length-prefixed binary NBT.
+ * </p>
+ *
+ * <p>Lengths read from the input are untrusted: a length above {@link #MAX_LENGTH}, or above the remaining bytes of
+ * an input created by {@link #newDataInput(ByteBuffer)}, is rejected before anything is allocated.
+ * </p>
+ */
+final class BinaryCodec {
+
+    /**
+     * The maximum length of a string or byte array, the limit vanilla applies to the NBT of a network packet.
+     */
+    static final int MAX_LENGTH = 2 * 1024 * 1024;
+
+    private BinaryCodec() {
+    }
+
+    static void writeVarInt(@NotNull DataOutput output, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    static int readVarInt(@NotNull DataInput input) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = input.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("VarInt is too big");
+    }
+
+    static void writeVarLong(@NotNull DataOutput output, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            output.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte((int) value);
+    }
+
+    static long readVarLong(@NotNull DataInput input) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = input.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("VarLong is too big");
+    }
+
+    static void writeBytes(@NotNull DataOutput output, byte @NotNull [] bytes) throws IOException {
+        writeVarInt(output, bytes.length);
+        output.write(bytes);
+    }
+
+    static byte @NotNull [] readBytes(@NotNull DataInput input) throws IOException {
+        byte[] bytes = new byte[checkLength(input, readVarInt(input))];
+        input.readFully(bytes);
+        return bytes;
+    }
+
+    private static int checkLength(@NotNull DataInput input, int length) throws IOException {
+        if (length < 0) {
+            throw new IOException("Negative length: " + length);
+        }
+        if (length > MAX_LENGTH) {
+            throw new IOException("Length exceeds the maximum of " + MAX_LENGTH + ": " + length);
+        }
+        if (input instanceof ByteBufferDataInput bufferInput && length > bufferInput.buffer.remaining()) {
+            throw new IOException("Length exceeds the remaining " + bufferInput.buffer.remaining() + " bytes: " + length);
+        }
+        return length;
+    }
+
+    /**
+     * Writes a nullable string. The length is stored as {@code length + 1}, {@code 0} stands for {@code null}.
+     */
+    static void writeString(@NotNull DataOutput output, @Nullable String value) throws IOException {
+        if (value == null) {
+            writeVarInt(output, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(output, bytes.length + 1);
+        output.write(bytes);
+    }
+
+    static @Nullable String readString(@NotNull DataInput input) throws IOException {
+        int length = readVarInt(input) - 1;
+        if (length == -1) {
+            return null;
+        }
+        byte[] bytes = new byte[checkLength(input, length)];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Counts the bytes of a string encoded in UTF-8, without encoding it.
+     */
+    static int utf8Length(@NotNull CharSequence value) {
+        int length = value.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                // A surrogate pair takes 4 bytes, 2 per char.
+                bytes += c < 0x800 || Character.isSurrogate(c) ? 1 : 2;
+            }
+        }
+        return bytes;
+    }
+
+    static boolean fitsInLong(@NotNull BigInteger value) {
+        return value.bitLength() < 64;
+    }
+
+    static void writeAmount(@NotNull DataOutput output, @NotNull BigInteger amount) throws IOException {
+        if (fitsInLong(amount)) {
+            long value = amount.longValue();
+            writeVarLong(output, (value << 1) ^ (value >> 63));
+        } else {
+            writeBytes(output, amount.toByteArray());
+        }
+    }
+
+    static @NotNull BigInteger readAmount(@NotNull DataInput input, boolean big) throws IOException {
+        if (big) {
+            return new BigInteger(readBytes(input));
+        }
+        long value = readVarLong(input);
+        return BigInteger.valueOf((value >>> 1) ^ -(value & 1));
+    }
+
+    static byte @NotNull [] itemStackToBytes(@NotNull ItemStack itemStack) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(256);
+        NBT.itemStackToNBT(itemStack).writeCompound(outputStream);
+        return outputStream.toByteArray();
+    }
+
+    static @NotNull ItemStack itemStackFromBytes(byte @NotNull [] bytes) throws SerializerException {
+        ReadWriteNBT readWriteNBT = NBT.readNBT(new ByteArrayInputStream(bytes));
+        ItemStack itemStack = readWriteNBT != null ? NBT.itemStackFromNBT(readWriteNBT) : null;
+        if (itemStack == null) {
+            throw new SerializerException("Could not deserialize item stack");
+        }
+        return itemStack;
+    }
+
+    /**
+     * Creates a {@link DataInput} reading from the remaining bytes of a {@link ByteBuffer}, advancing its position.
+     * Lengths read from it are also checked against the remaining bytes.
+     */
+    static @NotNull DataInputStream newDataInput(@NotNull ByteBuffer buffer) {
+        return new ByteBufferDataInput(buffer);
+    }
+
+    private static final class ByteBufferDataInput extends DataInputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferDataInput(@NotNull ByteBuffer buffer) {
+            super(new ByteBufferInputStream(buffer));
+            this.buffer = buffer;
+        }
+    }
+
+    /**
+     * An {@link InputStream} reading from the remaining bytes of a {@link ByteBuffer}, advancing its position.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(@NotNull ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte @NotNull [] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!this.buffer.hasRemaining()) {
+                return -1;
+            }
+            length = Math.min(length, this.buffer.remaining());
+            this.buffer.get(bytes, offset, length);
+            return length;
+        }
+
+        @Override
+        public int available() {
+            return this.buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.georgev22.menuapi.utilities;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * The result of a bulk operation over a list, in the order of the input list.
+ *
+ * <p>A {@code BulkResult} is an unmodifiable list holding the result of every element. Elements that failed
+ * hold {@code null} and their failure is available through {@link #getFailures()}, so one bad element does
+ * not fail the whole operation.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * SerializableItemStack.deserializeItemStacksFromNBTAsync(nbtDataList, false).thenAccept(result -> {
+ *     result.getFailures().forEach((index, throwable) -> logger.warning("Item " + index + ": " + throwable.getMessage()));
+ *     // Use the result as needed, failed elements are null
+ * });
+ * }</pre>
+ * </p>
+ *
+ * @param <T> the type of the results.
+ */
+public final class BulkResult<T> extends AbstractList<T> implements RandomAccess {
+
+    /**
+     * Minimum number of elements of a chunk; smaller lists are processed as a single task.
+     */
+    private static final int MIN_CHUNK_SIZE = 64;
+
+    private final Object[] values;
+    private final SortedMap<Integer, Throwable> failures;
+
+    private BulkResult(Object[] values, SortedMap<Integer, Throwable> failures) {
+        this.values = values;
+        this.failures = failures;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        return (T) this.values[index];
+    }
+
+    @Override
+    public int size() {
+        return this.values.length;
+    }
+
+    /**
+     * Retrieves the failures of the operation, keyed by the index of the failed element.
+     *
+     * @return the failures, empty if every element succeeded.
+     */
+    @UnmodifiableView
+    public @NotNull SortedMap<Integer, Throwable> getFailures() {
+        return Collections.unmodifiableSortedMap(this.failures);
+    }
+
+    /**
+     * Retrieves the failure of an element.
+     *
+     * @param index the index of the element.
+     * @return the failure of the element, or {@code null} if it succeeded.
+     */
+    public @Nullable Throwable getFailure(int index) {
+        return this.failures.get(index);
+    }
+
+    /**
+     * Checks whether every element succeeded.
+     *
+     * @return {@code true} if there are no failures.
+     */
+    public boolean isSuccessful() {
+        return this.failures.isEmpty();
+    }
+
+    /**
+     * Applies a function to every element of a list on the given executor.
+     * <p>
+     * The list is split into at most {@link MenuExecutors#getParallelism()} contiguous chunks.
+     *
+     * @param input    the input list.
+     * @param function the function to apply.
+     * @param executor the executor the chunks run on.
+     * @return a future completed with the results once every chunk is done.
+     */
+    static <S, T> @NotNull CompletableFuture<BulkResult<T>> compute(@NotNull List<S> input, @NotNull ElementFunction<S, T> function, @NotNull Executor executor) {
+        // Not List.copyOf, which rejects null elements: a null element fails on its own, like any other element.
+        List<S> elements = new ArrayList<>(input);
+        int size = elements.size();
+        Object[] values = new Object[size];
+        Throwable[] failures = new Throwable[size];
+        int chunks = Math.max(1, Math.min(MenuExecutors.getParallelism(), size / MIN_CHUNK_SIZE));
+        int chunkSize = (size + chunks - 1) / chunks;
+
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[chunks];
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int from = chunk * chunkSize;
+            int to = Math.min(size, from + chunkSize);
+            try {
+                futures[chunk] = CompletableFuture.runAsync(() -> {
+                    for (int i = from; i < to; i++) {
+                        try {
+                            S element = elements.get(i);
+                            if (element == null) {
+                                throw new NullPointerException("Element " + i + " is null");
+                            }
+                            values[i] = function.apply(element);
+                        } catch (Throwable throwable) {
+                            failures[i] = throwable;
+                        }
+                    }
+                }, executor);
+            } catch (RejectedExecutionException e) {
+                // The executor is saturated, every element of the chunk fails instead of the whole operation.
+                Arrays.fill(failures, from, to, e);
+                futures[chunk] = CompletableFuture.completedFuture(null);
+            }
+        }
+
+        return CompletableFuture.allOf(futures).thenApply(ignored -> {
+            SortedMap<Integer, Throwable> failed = new TreeMap<>();
+            for (int i = 0; i < size; i++) {
+                if (failures[i] != null) {
+                    failed.put(i, failures[i]);
+                }
+            }
+            return new BulkResult<>(values, failed);
+        });
+    }
+
+    /**
+     * A function that may throw a checked exception.
+     */
+    @FunctionalInterface
+    interface ElementFunction<S, T> {
+
+        T apply(S input) throws Exception;
+    }
+}
@@ -47,6 +47,11 @@ import java.util.Set;
 @ApiStatus.Internal
 public final class InventoryUpdate {
 
+    /**
+     * The maximum length of a title sent by {@link #updateInventory(Player, String)}.
+     */
+    static final int MAX_TITLE_LENGTH = 32;
+
     // Classes.
     private static final Class<?> CRAFT_PLAYER;
     private static final Class<?> CHAT_MESSAGE;
@@ -57,6 +62,9 @@ public final class InventoryUpdate {
     private static final Class<?> ENTITY_PLAYER;
     private static final Class<?> I_CHAT_MUTABLE_COMPONENT;
 
+    // Every handle is adapted to erased types (Object, int, String), so it can be invoked with invokeExact
+    // without boxing or argument conversions on each call.
+
     // Methods.
     private static final MethodHandle getHandle;
     private static final MethodHandle getBukkitView;
@@ -91,21 +99,31 @@ public final class InventoryUpdate {
         I_CHAT_MUTABLE_COMPONENT = SUPPORTS_19 ? ReflectionUtils.getNMSClass("network.chat", "IChatMutableComponent") : null;
 
         // Initialize methods.
-        getHandle = getMethod(CRAFT_PLAYER, "getHandle", MethodType.methodType(ENTITY_PLAYER));
-        getBukkitView = getMethod(CONTAINER, "getBukkitView", MethodType.methodType(InventoryView.class));
-        literal = SUPPORTS_19 ? getMethod(I_CHAT_BASE_COMPONENT, "b", MethodType.methodType(I_CHAT_MUTABLE_COMPONENT, String.class), true) : null;
+        getHandle = exact(getMethod(CRAFT_PLAYER, "getHandle", MethodType.methodType(ENTITY_PLAYER)), Object.class, Player.class);
+        getBukkitView = exact(getMethod(CONTAINER, "getBukkitView", MethodType.methodType(InventoryView.class)), Object.class, Object.class);
+        literal = SUPPORTS_19 ? exact(getMethod(I_CHAT_BASE_COMPONENT, "b", MethodType.methodType(I_CHAT_MUTABLE_COMPONENT, String.class), true), Object.class, String.class) : null;
 
         // Initialize constructors.
-        chatMessage = SUPPORTS_19 ? null : getConstructor(CHAT_MESSAGE, String.class, Object[].class);
+        chatMessage = SUPPORTS_19 ? null : exact(getConstructor(CHAT_MESSAGE, String.class, Object[].class), Object.class, String.class, Object[].class);
         packetPlayOutOpenWindow =
                 (useContainers()) ?
-                        getConstructor(PACKET_PLAY_OUT_OPEN_WINDOW, int.class, CONTAINERS, I_CHAT_BASE_COMPONENT) :
+                        exact(getConstructor(PACKET_PLAY_OUT_OPEN_WINDOW, int.class, CONTAINERS, I_CHAT_BASE_COMPONENT), Object.class, int.class, Object.class, Object.class) :
                         // Older versions use String instead of Containers, and require an int for the inventory size.
-                        getConstructor(PACKET_PLAY_OUT_OPEN_WINDOW, int.class, String.class, I_CHAT_BASE_COMPONENT, int.class);
+                        exact(getConstructor(PACKET_PLAY_OUT_OPEN_WINDOW, int.class, String.class, I_CHAT_BASE_COMPONENT, int.class), Object.class, int.class, Object.class, Object.class, int.class);
 
         // Initialize fields.
-        activeContainer = getField(ENTITY_PLAYER, CONTAINER, "activeContainer", "bV", "bW", "bU", "bP", "containerMenu");
-        windowId = getField(CONTAINER, int.class, "windowId", "j", "containerId");
+        activeContainer = exact(getField(ENTITY_PLAYER, CONTAINER, "activeContainer", "bV", "bW", "bU", "bP", "containerMenu"), Object.class, Object.class);
+        windowId = exact(getField(CONTAINER, int.class, "windowId", "j", "containerId"), int.class, Object.class);
+    }
+
+    /**
+     * Cuts a title to the {@value #MAX_TITLE_LENGTH} characters sent by {@link #updateInventory(Player, String)}.
+     *
+     * @param title the title.
+     * @return the title as it is sent to the client.
+     */
+    static String toLegacyTitle(String title) {
+        return title.length() > MAX_TITLE_LENGTH ? title.substring(0, MAX_TITLE_LENGTH) : title;
     }
 
     /**
@@ -120,9 +138,7 @@ public final class InventoryUpdate {
         Preconditions.checkArgument(newTitle != null, "The new title can't be null.");
 
         try {
-            if (newTitle.length() > 32) {
-                newTitle = newTitle.substring(0, 32);
-            }
+            newTitle = toLegacyTitle(newTitle);
 
             if (ReflectionUtils.supports(20)) {
                 InventoryView open = player.getOpenInventory();
@@ -132,25 +148,24 @@ public final class InventoryUpdate {
             }
 
             // Get EntityPlayer from CraftPlayer.
-            Object craftPlayer = CRAFT_PLAYER.cast(player);
-            Object entityPlayer = getHandle.invoke(craftPlayer);
+            Object entityPlayer = (Object) getHandle.invokeExact(player);
 
             // Create new title.
             Object title;
             if (ReflectionUtils.supports(19)) {
-                title = literal.invoke(newTitle);
+                title = (Object) literal.invokeExact(newTitle);
             } else {
-                title = chatMessage.invoke(newTitle, DUMMY_COLOR_MODIFIERS);
+                title = (Object) chatMessage.invokeExact(newTitle, DUMMY_COLOR_MODIFIERS);
             }
 
             // Get activeContainer from EntityPlayer.
-            Object activeContainer = InventoryUpdate.activeContainer.invoke(entityPlayer);
+            Object activeContainer = (Object) InventoryUpdate.activeContainer.invokeExact(entityPlayer);
 
             // Get windowId from activeContainer.
-            Integer windowId = (Integer) InventoryUpdate.windowId.invoke(activeContainer);
+            int windowId = (int) InventoryUpdate.windowId.invokeExact(activeContainer);
 
             // Get InventoryView from activeContainer.
-            Object bukkitView = getBukkitView.invoke(activeContainer);
+            Object bukkitView = (Object) getBukkitView.invokeExact(activeContainer);
             if (!(bukkitView instanceof InventoryView)) return;
 
             // Avoiding pattern variable, since some people may be using an older version of java.
@@ -185,8 +200,8 @@ public final class InventoryUpdate {
 
             // Create packet.
             Object packet = useContainers() ?
-                    packetPlayOutOpenWindow.invoke(windowId, object, title) :
-                    packetPlayOutOpenWindow.invoke(windowId, object, title, size);
+                    (Object) packetPlayOutOpenWindow.invokeExact(windowId, object, title) :
+                    (Object) packetPlayOutOpenWindow.invokeExact(windowId, object, title, size);
 
             // Send packet sync.
             ReflectionUtils.sendPacketSync(player, packet);
@@ -198,6 +213,20 @@ public final class InventoryUpdate {
         }
     }
 
+    /**
+     * Adapts a handle to the given erased type, so it can be invoked with {@link MethodHandle#invokeExact(Object...)}.
+     *
+     * @param handle     the handle to adapt, may be null if it could not be found.
+     * @param returnType the return type of the adapted handle.
+     * @param paramTypes the parameter types of the adapted handle.
+     * @return the adapted handle, or null if the handle is null.
+     */
+    private static @Nullable MethodHandle exact(@Nullable MethodHandle handle, Class<?> returnType, Class<?>... paramTypes) {
+        if (handle == null) return null;
+        // Varargs constructors are bound with a fixed arity, the color modifiers are always passed as an array.
+        return handle.asFixedArity().asType(MethodType.methodType(returnType, paramTypes));
+    }
+
     private static @Nullable MethodHandle getField(Class<?> refc, Class<?> instc, String name, String... extraNames) {
         MethodHandle handle = getFieldHandle(refc, instc, name);
         if (handle != null) return handle;
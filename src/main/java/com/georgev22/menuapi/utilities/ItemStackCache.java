@@ -0,0 +1,200 @@
+package com.georgev22.menuapi.utilities;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU caches shared by every {@link SerializableItemStack}.
+ *
+ * <p>The cache interns ItemStack payloads by their content, so identical serialized ItemStacks
+ * share one {@link LazyItemStack} and are parsed at most once, and it memoizes the parsing of whole
+ * string representations passed to {@link SerializableItemStack#fromNBT(String)} and
+ * {@link SerializableItemStack#valueOf(String)}.
+ * </p>
+ *
+ * <p>Sharing is safe because the ItemStacks held by a {@link SerializableItemStack} are never
+ * modified in place: the getters return copies or read-only views and the setters replace them.
+ * </p>
+ *
+ * <p>Each cache is split into 16 stripes by the hash of the key, each an LRU map of its own lock,
+ * so that threads decoding different payloads rarely contend. Eviction is per stripe, so a cache holds at most
+ * the maximum size rounded up to a multiple of 16 entries.
+ * </p>
+ */
+public final class ItemStackCache {
+
+    /**
+     * The default maximum number of entries of each cache.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 4096;
+
+    private static volatile int maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+    private static final int STRIPES = 16;
+
+    private static final StripedCache<Object, LazyItemStack> payloads = new StripedCache<>();
+
+    private static final StripedCache<String, Parsed> parsed = new StripedCache<>();
+
+    private ItemStackCache() {
+    }
+
+    /**
+     * Sets the maximum number of entries of each cache.
+     * <p>
+     * A size of {@code 0} disables caching.
+     *
+     * @param size the maximum number of entries.
+     */
+    public static void setMaximumSize(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size must not be negative (Size = " + size + ")");
+        }
+        maximumSize = size;
+        clear();
+    }
+
+    /**
+     * Retrieves the maximum number of entries of each cache.
+     *
+     * @return the maximum number of entries.
+     */
+    public static int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Removes every entry from the caches.
+     */
+    public static void clear() {
+        payloads.clear();
+        parsed.clear();
+    }
+
+    static @NotNull LazyItemStack intern(@NotNull String nbt, @NotNull Function<String, LazyItemStack> factory) {
+        if (maximumSize == 0) {
+            return factory.apply(nbt);
+        }
+        return payloads.computeIfAbsent(nbt, key -> factory.apply(nbt));
+    }
+
+    static @NotNull LazyItemStack intern(byte @NotNull [] bytes, @NotNull Function<byte[], LazyItemStack> factory) {
+        if (maximumSize == 0) {
+            return factory.apply(bytes);
+        }
+        return payloads.computeIfAbsent(new BytesKey(bytes), key -> factory.apply(bytes));
+    }
+
+    static Parsed getParsed(@NotNull String dataString) {
+        if (maximumSize == 0) {
+            return null;
+        }
+        return parsed.get(dataString);
+    }
+
+    static void putParsed(@NotNull String dataString, @NotNull Parsed value) {
+        if (maximumSize == 0) {
+            return;
+        }
+        parsed.put(dataString, value);
+    }
+
+    /**
+     * The immutable result of parsing a string representation.
+     * <p>
+     * The custom data is copied into a read-only map, which unlike {@link Map#copyOf(Map)} keeps null values.
+     */
+    record Parsed(@NotNull LazyItemStack itemStack, @NotNull LazyItemStack visualItemStack,
+                  @NotNull BigInteger amount, @NotNull Map<String, String> customData) {
+
+        Parsed {
+            customData = customData.isEmpty() ? Map.of() : Collections.unmodifiableMap(new HashMap<>(customData));
+        }
+    }
+
+    /**
+     * An LRU cache split into {@link #STRIPES} independently locked stripes.
+     */
+    private static final class StripedCache<K, V> {
+
+        private final Map<K, V>[] stripes;
+
+        @SuppressWarnings("unchecked")
+        private StripedCache() {
+            this.stripes = (Map<K, V>[]) new Map<?, ?>[STRIPES];
+            for (int i = 0; i < STRIPES; i++) {
+                this.stripes[i] = new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                        return size() > (maximumSize + STRIPES - 1) / STRIPES;
+                    }
+                };
+            }
+        }
+
+        private @NotNull Map<K, V> stripe(@NotNull Object key) {
+            int hash = key.hashCode();
+            return this.stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+        }
+
+        private V get(@NotNull K key) {
+            Map<K, V> stripe = stripe(key);
+            synchronized (stripe) {
+                return stripe.get(key);
+            }
+        }
+
+        private void put(@NotNull K key, @NotNull V value) {
+            Map<K, V> stripe = stripe(key);
+            synchronized (stripe) {
+                stripe.put(key, value);
+            }
+        }
+
+        private V computeIfAbsent(@NotNull K key, @NotNull Function<? super K, ? extends V> function) {
+            Map<K, V> stripe = stripe(key);
+            synchronized (stripe) {
+                return stripe.computeIfAbsent(key, function);
+            }
+        }
+
+        private void clear() {
+            for (Map<K, V> stripe : this.stripes) {
+                synchronized (stripe) {
+                    stripe.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * Content based key of a binary payload.
+     */
+    private static final class BytesKey {
+
+        private final byte[] bytes;
+        private final int hash;
+
+        private BytesKey(byte @NotNull [] bytes) {
+            this.bytes = bytes;
+            this.hash = Arrays.hashCode(bytes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || o instanceof BytesKey other && this.hash == other.hash && Arrays.equals(this.bytes, other.bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+}
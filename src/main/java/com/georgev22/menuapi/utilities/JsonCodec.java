@@ -0,0 +1,216 @@
+package com.georgev22.menuapi.utilities;
+
+import com.georgev22.library.maps.HashObjectMap;
+import com.georgev22.library.maps.ObjectMap;
+import com.georgev22.menuapi.exceptions.SerializerException;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+
+/**
+ * Reads and writes the flat JSON objects of the textual {@link SerializableItemStack} format.
+ *
+ * <p>Only objects whose keys and values are strings are supported. Strings are escaped on write,
+ * so values may contain SNBT or nested JSON, and read back with a single pass over the input.
+ * </p>
+ */
+final class JsonCodec {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private JsonCodec() {
+    }
+
+    static @NotNull String write(@NotNull Map<String, String> map) {
+        StringBuilder builder = new StringBuilder(64);
+        builder.append('{');
+        boolean first = true;
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            if (!first) {
+                builder.append(',');
+            }
+            first = false;
+            writeString(builder, entry.getKey());
+            builder.append(':');
+            writeString(builder, entry.getValue());
+        }
+        return builder.append('}').toString();
+    }
+
+    static @NotNull ObjectMap<String, String> read(@NotNull String json) throws SerializerException {
+        return new Reader(json).readObject(new HashObjectMap<>());
+    }
+
+    private static void writeString(@NotNull StringBuilder builder, String value) {
+        if (value == null) {
+            builder.append("null");
+            return;
+        }
+        builder.append('"');
+        int length = value.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c != '"' && c != '\\' && c >= 0x20) {
+                continue;
+            }
+            builder.append(value, start, i);
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                case '\b' -> builder.append("\\b");
+                case '\f' -> builder.append("\\f");
+                default -> builder.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+            }
+            start = i + 1;
+        }
+        builder.append(value, start, length).append('"');
+    }
+
+    /**
+     * Single-pass scanner over a flat JSON object.
+     */
+    private static final class Reader {
+
+        private final String json;
+        private final int length;
+        private final StringBuilder buffer = new StringBuilder();
+        private int index;
+
+        private Reader(@NotNull String json) {
+            this.json = json;
+            this.length = json.length();
+        }
+
+        private @NotNull ObjectMap<String, String> readObject(@NotNull ObjectMap<String, String> map) throws SerializerException {
+            expect('{');
+            if (peek() == '}') {
+                this.index++;
+                return finish(map);
+            }
+            while (true) {
+                String key = readString();
+                if (key == null) {
+                    throw error("string key");
+                }
+                expect(':');
+                map.put(key, readString());
+                char c = peek();
+                this.index++;
+                if (c == '}') {
+                    return finish(map);
+                }
+                if (c != ',') {
+                    this.index--;
+                    throw error("',' or '}'");
+                }
+            }
+        }
+
+        private @NotNull ObjectMap<String, String> finish(@NotNull ObjectMap<String, String> map) throws SerializerException {
+            skipWhitespace();
+            if (this.index != this.length) {
+                throw error("end of input");
+            }
+            return map;
+        }
+
+        private String readString() throws SerializerException {
+            char c = peek();
+            if (c == 'n' && this.json.startsWith("null", this.index)) {
+                this.index += 4;
+                return null;
+            }
+            if (c != '"') {
+                throw error("'\"'");
+            }
+            int start = ++this.index;
+            StringBuilder builder = null;
+            while (this.index < this.length) {
+                c = this.json.charAt(this.index);
+                if (c == '"') {
+                    String value;
+                    if (builder == null) {
+                        value = this.json.substring(start, this.index);
+                    } else {
+                        value = builder.append(this.json, start, this.index).toString();
+                    }
+                    this.index++;
+                    return value;
+                }
+                if (c == '\\') {
+                    if (builder == null) {
+                        builder = this.buffer;
+                        builder.setLength(0);
+                    }
+                    builder.append(this.json, start, this.index);
+                    this.index++;
+                    builder.append(readEscape());
+                    start = this.index;
+                    continue;
+                }
+                this.index++;
+            }
+            throw error("'\"'");
+        }
+
+        private char readEscape() throws SerializerException {
+            if (this.index >= this.length) {
+                throw error("escape sequence");
+            }
+            char c = this.json.charAt(this.index++);
+            return switch (c) {
+                case '"', '\\', '/' -> c;
+                case 'n' -> '\n';
+                case 'r' -> '\r';
+                case 't' -> '\t';
+                case 'b' -> '\b';
+                case 'f' -> '\f';
+                case 'u' -> {
+                    if (this.index + 4 > this.length) {
+                        throw error("unicode escape");
+                    }
+                    int value = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int digit = Character.digit(this.json.charAt(this.index++), 16);
+                        if (digit < 0) {
+                            this.index--;
+                            throw error("hex digit");
+                        }
+                        value = (value << 4) | digit;
+                    }
+                    yield (char) value;
+                }
+                default -> {
+                    this.index--;
+                    throw error("escape sequence");
+                }
+            };
+        }
+
+        private void expect(char expected) throws SerializerException {
+            if (peek() != expected) {
+                throw error("'" + expected + "'");
+            }
+            this.index++;
+        }
+
+        private char peek() {
+            skipWhitespace();
+            return this.index < this.length ? this.json.charAt(this.index) : '\0';
+        }
+
+        private void skipWhitespace() {
+            while (this.index < this.length && Character.isWhitespace(this.json.charAt(this.index))) {
+                this.index++;
+            }
+        }
+
+        private @NotNull SerializerException error(String expected) {
+            return new SerializerException("Malformed data: expected " + expected + " at index " + this.index);
+        }
+    }
+}
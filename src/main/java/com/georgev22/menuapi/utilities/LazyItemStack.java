@@ -0,0 +1,194 @@
+package com.georgev22.menuapi.utilities;
+
+import com.georgev22.menuapi.exceptions.SerializerException;
+import de.tr7zw.changeme.nbtapi.NBT;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * An ItemStack that is materialized from its serialized form on first access.
+ *
+ * <p>Instances created from a serialized payload keep it, so they can be written again in the same format
+ * without going through an {@link ItemStack}. The materialized ItemStack is never handed out for modification,
+ * which keeps the payload valid for the whole lifetime of the instance; a changed ItemStack is always
+ * stored as a new {@code LazyItemStack}.
+ * </p>
+ *
+ * <p>Instances created from a caller supplied ItemStack never cache their serialized form,
+ * since the caller may still modify the ItemStack. Instances created from a payload are interned
+ * through {@link ItemStackCache}, so identical payloads share one instance and are parsed once.
+ * </p>
+ */
+final class LazyItemStack {
+
+    private volatile ItemStack itemStack;
+    private final boolean owned;
+    private volatile String nbt;
+    private volatile byte[] bytes;
+    private volatile SerializerException failure;
+
+    private LazyItemStack(ItemStack itemStack, String nbt, byte[] bytes, boolean owned) {
+        this.itemStack = itemStack;
+        this.nbt = nbt;
+        this.bytes = bytes;
+        this.owned = owned;
+    }
+
+    @Contract("_ -> new")
+    static @NotNull LazyItemStack of(@NotNull ItemStack itemStack) {
+        return new LazyItemStack(itemStack, null, null, false);
+    }
+
+    static @NotNull LazyItemStack ofNBT(@NotNull String nbt) {
+        return ItemStackCache.intern(nbt, key -> new LazyItemStack(null, key, null, true));
+    }
+
+    static @NotNull LazyItemStack ofBytes(byte @NotNull [] bytes) {
+        return ItemStackCache.intern(bytes, key -> new LazyItemStack(null, null, key, true));
+    }
+
+    /**
+     * Retrieves the ItemStack, materializing it from the serialized payload if needed.
+     *
+     * @return the ItemStack, shared and read-only.
+     * @throws IllegalStateException if the payload can not be deserialized.
+     */
+    @NotNull ItemStack get() {
+        ItemStack itemStack = this.itemStack;
+        if (itemStack == null) {
+            try {
+                itemStack = load().itemStack;
+            } catch (SerializerException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+        return itemStack;
+    }
+
+    /**
+     * Retrieves the ItemStack, or the one of a fallback if the payload can not be deserialized.
+     * <p>
+     * This is how a visual ItemStack falls back to the actual ItemStack, whether it is materialized
+     * eagerly through {@link #loadOr(LazyItemStack)} or on first access.
+     *
+     * @param fallback the instance to use if the payload is malformed.
+     * @return the ItemStack, shared and read-only.
+     * @throws IllegalStateException if the fallback can not be deserialized either.
+     */
+    @NotNull ItemStack getOr(@NotNull LazyItemStack fallback) {
+        return loadOr(fallback).get();
+    }
+
+    /**
+     * Materializes the ItemStack now, reporting a malformed payload as a {@link SerializerException}.
+     * <p>
+     * The failure is kept and thrown again by later calls, without parsing the payload again.
+     *
+     * @return this instance.
+     * @throws SerializerException if the payload can not be deserialized.
+     */
+    @NotNull LazyItemStack load() throws SerializerException {
+        if (this.itemStack == null) {
+            SerializerException failure = this.failure;
+            if (failure != null) {
+                throw failure;
+            }
+            try {
+                this.itemStack = materialize();
+            } catch (SerializerException e) {
+                // Remembered so a malformed payload is not parsed again on every access.
+                this.failure = e;
+                throw e;
+            } catch (RuntimeException e) {
+                SerializerException exception = new SerializerException("Could not deserialize item stack: " + e.getMessage());
+                exception.initCause(e);
+                this.failure = exception;
+                throw exception;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Materializes the ItemStack now, or the one of a fallback if the payload can not be deserialized.
+     *
+     * @param fallback the instance to use if the payload is malformed.
+     * @return this instance, or the fallback if the payload is malformed.
+     */
+    @NotNull LazyItemStack loadOr(@NotNull LazyItemStack fallback) {
+        try {
+            return load();
+        } catch (SerializerException e) {
+            return fallback;
+        }
+    }
+
+    boolean isMaterialized() {
+        return this.itemStack != null;
+    }
+
+    /**
+     * Checks whether this instance represents the same ItemStack as another one, without materializing either.
+     * <p>
+     * Payloads are compared when both sides have one in the same format, materialized ItemStacks otherwise.
+     * A {@code false} result does not guarantee the ItemStacks differ.
+     *
+     * @param other the other instance.
+     * @return {@code true} if both instances are known to represent the same ItemStack.
+     */
+    boolean isSameAs(@NotNull LazyItemStack other) {
+        if (this == other) {
+            return true;
+        }
+        String nbt = this.nbt;
+        String otherNbt = other.nbt;
+        if (nbt != null && otherNbt != null) {
+            return nbt.equals(otherNbt);
+        }
+        byte[] bytes = this.bytes;
+        byte[] otherBytes = other.bytes;
+        if (bytes != null && otherBytes != null) {
+            return Arrays.equals(bytes, otherBytes);
+        }
+        ItemStack itemStack = this.itemStack;
+        ItemStack otherItemStack = other.itemStack;
+        return itemStack != null && itemStack.equals(otherItemStack);
+    }
+
+    @NotNull String toNBT() {
+        String nbt = this.nbt;
+        if (nbt == null) {
+            nbt = NBT.itemStackToNBT(get()).toString();
+            if (this.owned) {
+                this.nbt = nbt;
+            }
+        }
+        return nbt;
+    }
+
+    byte @NotNull [] toBytes() {
+        byte[] bytes = this.bytes;
+        if (bytes == null) {
+            bytes = BinaryCodec.itemStackToBytes(get());
+            if (this.owned) {
+                this.bytes = bytes;
+            }
+        }
+        return bytes;
+    }
+
+    private @NotNull ItemStack materialize() throws SerializerException {
+        String nbt = this.nbt;
+        if (nbt != null) {
+            ItemStack itemStack = NBT.itemStackFromNBT(NBT.parseNBT(nbt));
+            if (itemStack == null) {
+                throw new SerializerException("Could not deserialize item stack");
+            }
+            return itemStack;
+        }
+        return BinaryCodec.itemStackFromBytes(this.bytes);
+    }
+}
@@ -0,0 +1,156 @@
+package com.georgev22.menuapi.utilities;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Holds the executor MenuAPI runs its background work on.
+ *
+ * <p>By default, a virtual thread per task executor is used when the runtime supports virtual threads (Java 21+).
+ * Otherwise, a pool of daemon threads, one per available processor, is used. Its queue is bounded and a full queue
+ * rejects new tasks with a {@link RejectedExecutionException}. Tasks never fall back to the submitting thread, which
+ * is usually the server thread. {@link #supplyAsync(Supplier, Executor)} turns a rejection into a failed future.
+ * </p>
+ *
+ * <p>Work submitted by MenuAPI is split into at most {@link #getParallelism()} tasks per call,
+ * so the number of concurrently running tasks stays bounded with either executor.
+ * </p>
+ */
+public final class MenuExecutors {
+
+    private static final int QUEUE_CAPACITY = 1024;
+
+    private static volatile ExecutorService executor;
+    private static volatile int parallelism = Runtime.getRuntime().availableProcessors();
+
+    private MenuExecutors() {
+    }
+
+    /**
+     * Retrieves the executor, creating the default one if none has been set.
+     *
+     * @return the executor.
+     */
+    public static @NotNull ExecutorService getExecutor() {
+        ExecutorService executor = MenuExecutors.executor;
+        if (executor == null) {
+            synchronized (MenuExecutors.class) {
+                executor = MenuExecutors.executor;
+                if (executor == null) {
+                    executor = MenuExecutors.executor = newDefaultExecutor();
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Sets the executor MenuAPI runs its background work on.
+     * <p>
+     * The previous executor is not shut down.
+     *
+     * @param executor the executor.
+     */
+    public static void setExecutor(@NotNull ExecutorService executor) {
+        MenuExecutors.executor = executor;
+    }
+
+    /**
+     * Retrieves the maximum number of tasks a single bulk operation is split into.
+     *
+     * @return the parallelism.
+     */
+    public static int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the maximum number of tasks a single bulk operation is split into.
+     *
+     * @param parallelism the parallelism, at least 1.
+     */
+    public static void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be greater than 0 (Parallelism = " + parallelism + ")");
+        }
+        MenuExecutors.parallelism = parallelism;
+    }
+
+    /**
+     * Shuts down the current executor, waiting up to the given timeout for running tasks.
+     * <p>
+     * A new default executor is created the next time one is needed.
+     *
+     * @param timeout the maximum time to wait.
+     * @param unit    the unit of the timeout.
+     * @return {@code true} if the executor terminated in time.
+     */
+    public static boolean shutdown(long timeout, @NotNull TimeUnit unit) {
+        ExecutorService executor;
+        synchronized (MenuExecutors.class) {
+            executor = MenuExecutors.executor;
+            MenuExecutors.executor = null;
+        }
+        if (executor == null) {
+            return true;
+        }
+        executor.shutdown();
+        try {
+            return executor.awaitTermination(timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Runs a supplier on an executor, like {@link CompletableFuture#supplyAsync(Supplier, Executor)},
+     * except that a rejected task completes the future exceptionally instead of throwing.
+     *
+     * @param supplier the supplier.
+     * @param executor the executor.
+     * @param <T>      the type of the result.
+     * @return a future completed with the result of the supplier.
+     */
+    public static <T> @NotNull CompletableFuture<T> supplyAsync(@NotNull Supplier<T> supplier, @NotNull Executor executor) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Creates the default executor.
+     *
+     * @return a virtual thread per task executor if supported, otherwise a bounded pool of daemon threads.
+     */
+    public static @NotNull ExecutorService newDefaultExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException ignored) {
+        }
+
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(
+                parallelism,
+                parallelism,
+                30L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "MenuAPI-Worker-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        return threadPoolExecutor;
+    }
+}
@@ -0,0 +1,361 @@
+package com.georgev22.menuapi.utilities;
+
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+/**
+ * Sends packets off the main thread, in order, on threads owned by MenuAPI.
+ *
+ * <p>Every player has its own queue which is drained by at most one thread at a time, so the packets of a player
+ * are sent in the order they were dispatched, while different players are served in parallel.
+ * A drain sends up to {@link #MAX_BATCH_SIZE} packets at once; on versions with bundle packets (1.19.4+),
+ * they are wrapped into a single bundle so the client applies them in the same frame.
+ * </p>
+ *
+ * <p>The number of queued packets per player is bounded by {@link #getCapacity()}. Packets dispatched to a full
+ * queue are rejected: their future completes exceptionally with a {@link RejectedExecutionException},
+ * and the rejection is counted in {@link #getMetrics()}. Packets dispatched to a player who is offline are rejected
+ * the same way.
+ * </p>
+ *
+ * <p>A queue is removed once it is drained empty, and created again by the next dispatch to its player.
+ * </p>
+ */
+@ApiStatus.Internal
+@SuppressWarnings("deprecation")
+public final class PacketDispatcher {
+
+    /**
+     * The maximum number of packets sent in a single flush.
+     */
+    public static final int MAX_BATCH_SIZE = 64;
+
+    /**
+     * The default maximum number of queued packets per player.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final JavaPlugin PLUGIN = JavaPlugin.getProvidingPlugin(PacketDispatcher.class);
+
+    /**
+     * {@code ClientboundBundlePacket(Iterable)}, adapted to {@code (Iterable)Object}, or null if bundles are not supported.
+     */
+    private static final MethodHandle BUNDLE_PACKET;
+
+    static {
+        MethodHandle bundlePacket = null;
+        if (ReflectionUtils.supports(19, 4)) {
+            try {
+                Class<?> bundle = Class.forName(ReflectionUtils.NMS_PACKAGE + "network.protocol.game.ClientboundBundlePacket");
+                bundlePacket = MethodHandles.lookup()
+                        .findConstructor(bundle, MethodType.methodType(void.class, Iterable.class))
+                        .asType(MethodType.methodType(Object.class, Iterable.class));
+            } catch (ReflectiveOperationException ignored) {
+            }
+        }
+        BUNDLE_PACKET = bundlePacket;
+    }
+
+    private static final Map<UUID, PlayerQueue> QUEUES = new ConcurrentHashMap<>();
+
+    private static final LongAdder SENT = new LongAdder();
+    private static final LongAdder FLUSHES = new LongAdder();
+    private static final LongAdder REJECTED = new LongAdder();
+    private static final LongAdder FAILED = new LongAdder();
+    private static final AtomicInteger QUEUED = new AtomicInteger();
+
+    private static volatile int capacity = DEFAULT_CAPACITY;
+    private static volatile ExecutorService executor;
+    private static volatile boolean shutdown;
+
+    private PacketDispatcher() {
+    }
+
+    /**
+     * Dispatches packets to a player.
+     * <p>
+     * The packets are sent after every packet previously dispatched to the same player.
+     *
+     * @param player  the player to send the packets to.
+     * @param packets the packets to send.
+     * @return a future completed once the packets are sent, or exceptionally if they were rejected or failed.
+     */
+    public static @NotNull CompletableFuture<Void> dispatch(@NotNull Player player, @NotNull Object @NotNull ... packets) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        if (shutdown) {
+            REJECTED.add(packets.length);
+            future.completeExceptionally(new RejectedExecutionException("The packet dispatcher is shut down"));
+            return future;
+        }
+        if (packets.length == 0) {
+            future.complete(null);
+            return future;
+        }
+        if (!player.isOnline()) {
+            REJECTED.add(packets.length);
+            future.completeExceptionally(new RejectedExecutionException(player.getName() + " is offline"));
+            return future;
+        }
+        Entry entry = new Entry(packets, future);
+        PlayerQueue queue;
+        do {
+            queue = QUEUES.computeIfAbsent(player.getUniqueId(), uuid -> new PlayerQueue(player));
+            if (queue.offer(entry)) {
+                return future;
+            }
+            // A retired queue is being removed, the next lookup creates a new one.
+        } while (queue.isRetired());
+        REJECTED.add(packets.length);
+        future.completeExceptionally(new RejectedExecutionException("The packet queue of " + player.getName() + " is full (Capacity = " + capacity + ")"));
+        return future;
+    }
+
+    /**
+     * Discards the queue of a player, cancelling every packet that was not sent yet.
+     *
+     * @param player the player whose queue will be discarded.
+     */
+    public static void discard(@NotNull Player player) {
+        PlayerQueue queue = QUEUES.remove(player.getUniqueId());
+        if (queue != null) {
+            queue.discard();
+        }
+    }
+
+    /**
+     * Retrieves the maximum number of queued packets per player.
+     *
+     * @return the capacity.
+     */
+    public static int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Sets the maximum number of queued packets per player.
+     *
+     * @param capacity the capacity, at least {@link #MAX_BATCH_SIZE}.
+     */
+    public static void setCapacity(int capacity) {
+        if (capacity < MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Capacity must be at least " + MAX_BATCH_SIZE + " (Capacity = " + capacity + ")");
+        }
+        PacketDispatcher.capacity = capacity;
+    }
+
+    /**
+     * Retrieves a snapshot of the dispatcher metrics.
+     *
+     * @return the metrics.
+     */
+    public static @NotNull Metrics getMetrics() {
+        return new Metrics(SENT.sum(), FLUSHES.sum(), REJECTED.sum(), FAILED.sum(), QUEUED.get());
+    }
+
+    /**
+     * Stops accepting packets and waits up to the given timeout for the queued packets to be sent.
+     * <p>
+     * Packets left over are cancelled. Once this returns, the dispatcher accepts packets again and creates a new
+     * executor the next time one is needed, so the same classloader can be used again, for example after a reload.
+     *
+     * @param timeout the maximum time to wait.
+     * @param unit    the unit of the timeout.
+     * @return {@code true} if every queued packet was sent in time.
+     */
+    public static boolean shutdown(long timeout, @NotNull TimeUnit unit) {
+        ExecutorService executor;
+        synchronized (PacketDispatcher.class) {
+            shutdown = true;
+            executor = PacketDispatcher.executor;
+            PacketDispatcher.executor = null;
+        }
+        if (executor == null) {
+            shutdown = false;
+            return true;
+        }
+        executor.shutdown();
+        boolean terminated;
+        try {
+            terminated = executor.awaitTermination(timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            terminated = false;
+        }
+        for (PlayerQueue queue : QUEUES.values()) {
+            queue.discard();
+        }
+        QUEUES.clear();
+        shutdown = false;
+        return terminated;
+    }
+
+    private static @NotNull ExecutorService getExecutor() {
+        ExecutorService executor = PacketDispatcher.executor;
+        if (executor == null) {
+            synchronized (PacketDispatcher.class) {
+                executor = PacketDispatcher.executor;
+                if (executor == null) {
+                    if (shutdown) {
+                        // The previous executor is still draining, nothing new is scheduled until it is done.
+                        throw new RejectedExecutionException("The packet dispatcher is shut down");
+                    }
+                    int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+                    AtomicInteger count = new AtomicInteger();
+                    executor = PacketDispatcher.executor = Executors.newFixedThreadPool(threads, runnable -> {
+                        Thread thread = new Thread(runnable, "MenuAPI-Packets-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+        return executor;
+    }
+
+    private static void send(@NotNull Player player, @NotNull List<Object> packets) throws Throwable {
+        if (packets.size() > 1 && BUNDLE_PACKET != null) {
+            Iterable<Object> bundled = packets;
+            ReflectionUtils.sendPacketsOrThrow(player, (Object) BUNDLE_PACKET.invokeExact(bundled));
+        } else {
+            ReflectionUtils.sendPacketsOrThrow(player, packets.toArray());
+        }
+    }
+
+    /**
+     * A snapshot of the dispatcher metrics.
+     *
+     * @param sentPackets     the number of packets sent.
+     * @param flushes         the number of flushes, each sending up to {@link #MAX_BATCH_SIZE} packets.
+     * @param rejectedPackets the number of packets rejected because a queue was full or the dispatcher was shut down.
+     * @param failedPackets   the number of packets that failed to be sent.
+     * @param queuedPackets   the number of packets currently queued.
+     */
+    public record Metrics(long sentPackets, long flushes, long rejectedPackets, long failedPackets, int queuedPackets) {
+    }
+
+    private record Entry(Object[] packets, CompletableFuture<Void> future) {
+    }
+
+    /**
+     * The queue of a single player, drained by at most one thread at a time.
+     * <p>
+     * Once drained empty, the queue retires: its size is set to {@link #RETIRED} so it accepts no more packets,
+     * and it is removed from the queues.
+     */
+    private static final class PlayerQueue implements Runnable {
+
+        private static final int RETIRED = -1;
+
+        private final Player player;
+        private final Queue<Entry> entries = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private PlayerQueue(Player player) {
+            this.player = player;
+        }
+
+        private boolean offer(@NotNull Entry entry) {
+            int packets = entry.packets().length;
+            int limit = capacity;
+            int current;
+            do {
+                current = this.size.get();
+                if (current == RETIRED || current + packets > limit) {
+                    return false;
+                }
+            } while (!this.size.compareAndSet(current, current + packets));
+            QUEUED.addAndGet(packets);
+            this.entries.add(entry);
+            schedule();
+            return true;
+        }
+
+        private boolean isRetired() {
+            return this.size.get() == RETIRED;
+        }
+
+        private void schedule() {
+            if (this.scheduled.compareAndSet(false, true)) {
+                try {
+                    getExecutor().execute(this);
+                } catch (RejectedExecutionException e) {
+                    this.scheduled.set(false);
+                    discard();
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                // A single batch per run keeps players fair; once shut down, the queue is drained completely
+                // since the executor does not accept the run that would send the rest.
+                do {
+                    List<Object> packets = new ArrayList<>(MAX_BATCH_SIZE);
+                    List<CompletableFuture<Void>> futures = new ArrayList<>();
+                    Entry entry;
+                    while ((entry = this.entries.peek()) != null && (packets.isEmpty() || packets.size() + entry.packets().length <= MAX_BATCH_SIZE)) {
+                        this.entries.poll();
+                        packets.addAll(List.of(entry.packets()));
+                        futures.add(entry.future());
+                    }
+                    if (!packets.isEmpty()) {
+                        flush(packets, futures);
+                    }
+                } while (shutdown && !this.entries.isEmpty());
+            } finally {
+                this.scheduled.set(false);
+                if (!this.entries.isEmpty()) {
+                    schedule();
+                } else if (this.size.compareAndSet(0, RETIRED)) {
+                    QUEUES.remove(this.player.getUniqueId(), this);
+                }
+            }
+        }
+
+        private void flush(@NotNull List<Object> packets, @NotNull List<CompletableFuture<Void>> futures) {
+            this.size.addAndGet(-packets.size());
+            QUEUED.addAndGet(-packets.size());
+            FLUSHES.increment();
+            try {
+                send(this.player, packets);
+                SENT.add(packets.size());
+                for (CompletableFuture<Void> future : futures) {
+                    future.complete(null);
+                }
+            } catch (Throwable throwable) {
+                FAILED.add(packets.size());
+                PLUGIN.getLogger().log(Level.WARNING, "Failed to send " + packets.size() + " packet(s) to " + this.player.getName(), throwable);
+                for (CompletableFuture<Void> future : futures) {
+                    future.completeExceptionally(throwable);
+                }
+            }
+        }
+
+        private void discard() {
+            Entry entry;
+            while ((entry = this.entries.poll()) != null) {
+                this.size.addAndGet(-entry.packets().length);
+                QUEUED.addAndGet(-entry.packets().length);
+                entry.future().cancel(false);
+            }
+        }
+    }
+}
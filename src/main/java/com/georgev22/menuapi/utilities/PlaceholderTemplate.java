@@ -0,0 +1,123 @@
+package com.georgev22.menuapi.utilities;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A text compiled once into literal segments and {@code {placeholder}} segments.
+ *
+ * <p>Resolving a template only concatenates its segments, the text is never scanned again.
+ * A {@code {} without a matching {@code }} is kept as literal text.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * PlaceholderTemplate template = PlaceholderTemplate.compile("Balance: {balance} coins");
+ * String text = template.resolve(placeholder -> placeholder.equals("balance") ? "150" : null);
+ * // text = "Balance: 150 coins"
+ * }</pre>
+ * </p>
+ */
+public final class PlaceholderTemplate {
+
+    private final String source;
+    private final String[] literals;
+    private final String[] placeholders;
+
+    private PlaceholderTemplate(String source, String[] literals, String[] placeholders) {
+        this.source = source;
+        this.literals = literals;
+        this.placeholders = placeholders;
+    }
+
+    /**
+     * Compiles a text into a template.
+     *
+     * @param text the text, with placeholders written as {@code {name}}.
+     * @return the compiled template.
+     */
+    public static @NotNull PlaceholderTemplate compile(@NotNull String text) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int index = 0;
+        while (index < text.length()) {
+            int open = text.indexOf('{', index);
+            int close = open < 0 ? -1 : text.indexOf('}', open + 1);
+            if (close < 0) {
+                literal.append(text, index, text.length());
+                break;
+            }
+            literal.append(text, index, open);
+            literals.add(literal.toString());
+            literal.setLength(0);
+            placeholders.add(text.substring(open + 1, close));
+            index = close + 1;
+        }
+        literals.add(literal.toString());
+        return new PlaceholderTemplate(text, literals.toArray(new String[0]), placeholders.toArray(new String[0]));
+    }
+
+    /**
+     * Retrieves the placeholders of the template, in order of appearance.
+     *
+     * @return the placeholder names, without braces.
+     */
+    public @NotNull @Unmodifiable List<String> getPlaceholders() {
+        return List.of(this.placeholders);
+    }
+
+    /**
+     * Checks whether the template has no placeholders.
+     *
+     * @return {@code true} if the template always resolves to its source.
+     */
+    public boolean isConstant() {
+        return this.placeholders.length == 0;
+    }
+
+    /**
+     * Resolves the template.
+     * <p>
+     * Placeholders resolved to {@code null} are kept as written.
+     *
+     * @param values the value of each placeholder.
+     * @return the resolved text.
+     */
+    public @NotNull String resolve(@NotNull Function<String, @Nullable String> values) {
+        if (isConstant()) return this.source;
+        StringBuilder builder = new StringBuilder(this.source.length() + 16);
+        for (int i = 0; i < this.placeholders.length; i++) {
+            builder.append(this.literals[i]);
+            String value = values.apply(this.placeholders[i]);
+            if (value != null) {
+                builder.append(value);
+            } else {
+                builder.append('{').append(this.placeholders[i]).append('}');
+            }
+        }
+        return builder.append(this.literals[this.placeholders.length]).toString();
+    }
+
+    /**
+     * Retrieves the text the template was compiled from.
+     *
+     * @return the source text.
+     */
+    public @NotNull String getSource() {
+        return this.source;
+    }
+
+    @Override
+    public String toString() {
+        return "PlaceholderTemplate{" +
+                "source='" + this.source + '\'' +
+                ", placeholders=" + List.of(this.placeholders) +
+                '}';
+    }
+}
@@ -213,6 +213,8 @@ public final class ReflectionUtils {
     /**
      * A nullable public accessible field only available in {@code EntityPlayer}.
      * This can be null if the player is offline.
+     * <p>
+     * Adapted to {@code (Object)Object} and invoked with {@link MethodHandle#invokeExact(Object...)}.
      */
     private static final MethodHandle PLAYER_CONNECTION;
     /**
@@ -221,11 +223,21 @@ public final class ReflectionUtils {
      * Used mainly for handling packet related operations.
      * <p>
      * This is also where the famous player {@code ping} field comes from!
+     * <p>
+     * Adapted to {@code (Player)Object} and invoked with {@link MethodHandle#invokeExact(Object...)}.
      */
     private static final MethodHandle GET_HANDLE;
+    /**
+     * {@link #GET_HANDLE} followed by {@link #PLAYER_CONNECTION}, adapted to {@code (Player)Object}.
+     * <p>
+     * Being a single constant handle, the JIT can inline the whole chain down to the field read.
+     */
+    private static final MethodHandle GET_CONNECTION;
     /**
      * Sends a packet to the player's client through a {@code NetworkManager} which
      * is where {@code ProtocolLib} controls packets by injecting channels!
+     * <p>
+     * Adapted to {@code (Object,Object)void} and invoked with {@link MethodHandle#invokeExact(Object...)}.
      */
     private static final MethodHandle SEND_PACKET;
 
@@ -255,9 +267,10 @@ public final class ReflectionUtils {
             ex.printStackTrace();
         }
 
-        PLAYER_CONNECTION = connection;
-        SEND_PACKET = sendPacket;
-        GET_HANDLE = getHandle;
+        PLAYER_CONNECTION = connection == null ? null : connection.asType(MethodType.methodType(Object.class, Object.class));
+        SEND_PACKET = sendPacket == null ? null : sendPacket.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        GET_HANDLE = getHandle == null ? null : getHandle.asType(MethodType.methodType(Object.class, Player.class));
+        GET_CONNECTION = GET_HANDLE == null || PLAYER_CONNECTION == null ? null : MethodHandles.filterReturnValue(GET_HANDLE, PLAYER_CONNECTION);
     }
 
     private ReflectionUtils() {
@@ -361,20 +374,20 @@ public final class ReflectionUtils {
     /**
      * Sends a packet to the player asynchronously if they're online.
      * Packets are thread-safe.
+     * <p>
+     * The packets are sent through the {@link PacketDispatcher}, after every packet previously sent
+     * to the same player with this method.
      *
      * @param player  the player to send the packet to.
      * @param packets the packets to send.
-     * @return the async thread handling the packet.
+     * @return a future completed once the packets are sent, or exceptionally if they were rejected or failed.
      * @see #sendPacketSync(Player, Object...)
+     * @see PacketDispatcher#dispatch(Player, Object...)
      * @since 1.0.0
      */
     @Nonnull
     public static CompletableFuture<Void> sendPacket(@Nonnull Player player, @Nonnull Object... packets) {
-        return CompletableFuture.runAsync(() -> sendPacketSync(player, packets))
-                .exceptionally(ex -> {
-                    ex.printStackTrace();
-                    return null;
-                });
+        return PacketDispatcher.dispatch(player, packets);
     }
 
     /**
@@ -387,23 +400,33 @@ public final class ReflectionUtils {
      */
     public static void sendPacketSync(@Nonnull Player player, @Nonnull Object... packets) {
         try {
-            Object handle = GET_HANDLE.invoke(player);
-            Object connection = PLAYER_CONNECTION.invoke(handle);
-
-            // Checking if the connection is not null is enough. There is no need to check if the player is online.
-            if (connection != null) {
-                for (Object packet : packets) SEND_PACKET.invoke(connection, packet);
-            }
+            sendPacketsOrThrow(player, packets);
         } catch (Throwable throwable) {
             throwable.printStackTrace();
         }
     }
 
+    /**
+     * Sends packets to the player synchronously if they're online, propagating any failure to the caller.
+     *
+     * @param player  the player to send the packets to.
+     * @param packets the packets to send.
+     * @throws Throwable if a packet could not be sent.
+     */
+    static void sendPacketsOrThrow(@Nonnull Player player, @Nonnull Object... packets) throws Throwable {
+        Object connection = (Object) GET_CONNECTION.invokeExact(player);
+
+        // Checking if the connection is not null is enough. There is no need to check if the player is online.
+        if (connection != null) {
+            for (Object packet : packets) SEND_PACKET.invokeExact(connection, packet);
+        }
+    }
+
     @Nullable
     public static Object getHandle(@Nonnull Player player) {
         Objects.requireNonNull(player, "Cannot get handle of null player");
         try {
-            return GET_HANDLE.invoke(player);
+            return (Object) GET_HANDLE.invokeExact(player);
         } catch (Throwable throwable) {
             throwable.printStackTrace();
             return null;
@@ -414,8 +437,7 @@ public final class ReflectionUtils {
     public static Object getConnection(@Nonnull Player player) {
         Objects.requireNonNull(player, "Cannot get connection of null player");
         try {
-            Object handle = GET_HANDLE.invoke(player);
-            return PLAYER_CONNECTION.invoke(handle);
+            return (Object) GET_CONNECTION.invokeExact(player);
         } catch (Throwable throwable) {
             throwable.printStackTrace();
             return null;
@@ -3,8 +3,9 @@ package com.georgev22.menuapi.utilities;
 import com.georgev22.library.maps.HashObjectMap;
 import com.georgev22.library.maps.ObjectMap;
 import com.georgev22.menuapi.exceptions.SerializerException;
-import de.tr7zw.changeme.nbtapi.NBT;
-import de.tr7zw.changeme.nbtapi.iface.ReadWriteNBT;
+import com.georgev22.menuapi.metrics.ItemDecodeEvent;
+import com.georgev22.menuapi.metrics.ItemEncodeEvent;
+import com.georgev22.menuapi.metrics.MenuMetrics;
 import org.bukkit.configuration.serialization.ConfigurationSerializable;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
@@ -12,10 +13,13 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * A serializable wrapper for Bukkit ItemStack, using NBT serialization.
@@ -37,6 +41,14 @@ import java.util.Map;
  *     <li>{@code static @NotNull List<String> serializeItemStacksToNBT(@NotNull Map<ItemStack, BigInteger> itemStacks)} - Serializes a map of ItemStacks and amounts into a list of strings in NBT format.</li>
  *     <li>{@code static @NotNull List<String> serializeItemStacksToNBT(@NotNull List<SerializableItemStack> itemStacks)} - Serializes a list of SerializableItemStack into a list of strings in NBT format.</li>
  *     <li>{@code static @NotNull List<SerializableItemStack> deserializeItemStacksFromNBT(@NotNull List<String> nbtDataList)} - Deserializes a list of strings in NBT format into a list of SerializableItemStack.</li>
+ *     <li>{@code static @NotNull CompletableFuture<BulkResult<String>> serializeItemStacksToNBTAsync(@NotNull List<SerializableItemStack> itemStacks)} - Serializes a list of SerializableItemStack into a list of strings in NBT format in the background.</li>
+ *     <li>{@code static @NotNull CompletableFuture<BulkResult<SerializableItemStack>> deserializeItemStacksFromNBTAsync(@NotNull List<String> nbtDataList, boolean lazy)} - Deserializes a list of strings in NBT format into a list of SerializableItemStack in the background.</li>
+ *     <li>{@code static void serializeItemStacksToBinary(@NotNull List<SerializableItemStack> itemStacks, @NotNull DataOutput output)} - Serializes a list of SerializableItemStack in the binary format.</li>
+ *     <li>{@code static @NotNull List<SerializableItemStack> deserializeItemStacksFromBinary(@NotNull DataInput input)} - Deserializes a list of SerializableItemStack from the binary format.</li>
+ *     <li>{@code void write(@NotNull DataOutput output)} - Writes this SerializableItemStack in the binary format.</li>
+ *     <li>{@code static @NotNull SerializableItemStack read(@NotNull DataInput input)} - Reads a SerializableItemStack from the binary format.</li>
+ *     <li>{@code @NotNull ByteBuffer toByteBuffer()} - Writes this SerializableItemStack in the binary format to a new ByteBuffer.</li>
+ *     <li>{@code static @NotNull SerializableItemStack fromByteBuffer(@NotNull ByteBuffer buffer)} - Reads a SerializableItemStack in the binary format from a ByteBuffer.</li>
  *     <li>{@code ItemStack getItemStack()} - Retrieves the original ItemStack.</li>
  *     <li>{@code ItemStack getVisualItemStack()} - Retrieves the visual ItemStack.</li>
  *     <li>{@code BigInteger getAmount()} - Retrieves the amount of the ItemStack.</li>
@@ -73,6 +85,24 @@ import java.util.Map;
  * }</pre>
  * </p>
  *
+ * <p>Besides the textual NBT representation returned by {@link #toString()}, the class supports a compact,
+ * versioned binary format through {@link #write(DataOutput)} and {@link #read(DataInput)}. It stores both
+ * ItemStacks as length-prefixed binary NBT, the amount as a varint and the custom data as length-prefixed
+ * UTF-8 strings:
+ * <pre>{@code
+ * byte    format version
+ * byte    flags (0x01: visual item equals the item, 0x02: big amount)
+ * varint  item length, item NBT
+ * varint  visual item length, visual item NBT (omitted if flag 0x01 is set)
+ * varlong amount (zigzag), or varint length + two's complement bytes if the amount does not fit in a long
+ * varint  custom data size, followed by key and value strings (varint length + 1, 0 for null)
+ * }</pre>
+ * </p>
+ *
+ * <p>When the visual ItemStack equals the ItemStack, both formats store it only once. Identical payloads are
+ * interned and parsed string representations are memoized, see {@link ItemStackCache}.
+ * </p>
+ *
  * <p>It is recommended to handle potential exceptions, such as {@link SerializerException},
  * during the serialization and deserialization process.
  * </p>
@@ -82,8 +112,12 @@ public class SerializableItemStack implements Serializable, ConfigurationSeriali
     @Serial
     private static final long serialVersionUID = 1L;
 
-    private transient ItemStack itemStack;
-    private transient ItemStack visualItemStack;
+    private static final int BINARY_VERSION = 1;
+    private static final int FLAG_SAME_VISUAL = 0x01;
+    private static final int FLAG_BIG_AMOUNT = 0x02;
+
+    private transient LazyItemStack itemStack;
+    private transient LazyItemStack visualItemStack;
     private transient ObjectMap<String, String> customData;
     private transient BigInteger amount;
 
@@ -105,6 +139,13 @@ public class SerializableItemStack implements Serializable, ConfigurationSeriali
      * @param amount          The amount of the ItemStack.
      */
     public SerializableItemStack(ItemStack itemStack, ItemStack visualItemStack, BigInteger amount) {
+        this.itemStack = LazyItemStack.of(itemStack);
+        this.visualItemStack = visualItemStack == itemStack ? this.itemStack : LazyItemStack.of(visualItemStack);
+        this.amount = amount;
+        this.customData = new HashObjectMap<>();
+    }
+
+    private SerializableItemStack(LazyItemStack itemStack, LazyItemStack visualItemStack, BigInteger amount) {
         this.itemStack = itemStack;
         this.visualItemStack = visualItemStack;
         this.amount = amount;
@@ -170,34 +211,47 @@ public class SerializableItemStack implements Serializable, ConfigurationSeriali
      * @throws SerializerException If there is an issue with the deserialization process.
      */
     public static @NotNull SerializableItemStack fromNBT(String dataString) throws SerializerException {
-        ObjectMap<String, String> data = jsonToMap(dataString);
-
-        //noinspection DuplicatedCode
-        ItemStack itemStack = null;
-        if (data.containsKey("itemStack")) {
-            ReadWriteNBT readWriteNBT = NBT.parseNBT(data.get("itemStack"));
-            itemStack = NBT.itemStackFromNBT(readWriteNBT);
-        }
-        if (itemStack == null) {
-            throw new SerializerException("Could not deserialize item stack");
-        }
+        return fromNBT(dataString, false);
+    }
 
-        ItemStack visualItemStack = null;
-        if (data.containsKey("visualItemStack")) {
-            ReadWriteNBT readWriteNBT = NBT.parseNBT(data.get("visualItemStack"));
-            visualItemStack = NBT.itemStackFromNBT(readWriteNBT);
+    /**
+     * Creates a new SerializableItemStack from a string representation in NBT format, optionally without
+     * materializing its ItemStacks.
+     *
+     * <p>In lazy mode only the string representation is parsed; the ItemStacks are kept in their NBT form
+     * and materialized on the first call to {@link #getItemStack()}, {@link #getVisualItemStack()} or
+     * {@link #getSharedVisualItemStack()}. The amount and the custom data are available right away, and an
+     * instance whose ItemStacks were not replaced is written back by {@link #toString()} without
+     * serializing them again.
+     * </p>
+     *
+     * <p>Since the NBT is only parsed when needed, a malformed ItemStack is reported by the getters
+     * as an {@link IllegalStateException} instead of a {@link SerializerException}. In both modes a malformed
+     * visual ItemStack falls back to the ItemStack.
+     * </p>
+     *
+     * @param dataString The string representation of the ItemStack data in String format.
+     * @param lazy       Whether the ItemStacks are materialized on first access instead of right away.
+     * @return A new SerializableItemStack instance representing the deserialized ItemStack.
+     * @throws SerializerException If there is an issue with the deserialization process.
+     */
+    public static @NotNull SerializableItemStack fromNBT(String dataString, boolean lazy) throws SerializerException {
+        long start = System.nanoTime();
+        ItemDecodeEvent event = new ItemDecodeEvent();
+        event.begin();
+        ItemStackCache.Parsed parsed = ItemStackCache.getParsed(dataString);
+        if (parsed == null) {
+            parsed = parse(JsonCodec.read(dataString));
+            ItemStackCache.putParsed(dataString, parsed);
         }
-
-        if (visualItemStack == null) {
-            visualItemStack = itemStack.clone();
+        SerializableItemStack serializableItemStack = fromParsed(parsed, lazy);
+        MenuMetrics.ITEM_DECODE.recordSince(start);
+        // Measured once, and only if the size is recorded.
+        int bytes = MenuMetrics.isEnabled() || event.shouldCommit() ? BinaryCodec.utf8Length(dataString) : -1;
+        if (bytes != -1) {
+            MenuMetrics.ITEM_DECODE_SIZE.record(bytes);
         }
-
-        BigInteger amount = new BigInteger(data.getOrDefault("amount", "1"));
-
-        SerializableItemStack serializableItemStack = new SerializableItemStack(itemStack, visualItemStack, amount);
-
-        jsonToMap(data.getOrDefault("customData", "{}")).forEach((serializableItemStack::addData));
-
+        commit(event, "nbt", bytes, serializableItemStack, lazy);
         return serializableItemStack;
     }
 
@@ -294,13 +348,209 @@ public class SerializableItemStack implements Serializable, ConfigurationSeriali
      * @throws SerializerException If there is an issue with the deserialization process.
      */
     public static @NotNull List<SerializableItemStack> deserializeItemStacksFromNBT(@NotNull List<String> nbtDataList) throws SerializerException {
-        List<SerializableItemStack> itemStacks = new ArrayList<>();
+        return deserializeItemStacksFromNBT(nbtDataList, false);
+    }
+
+    /**
+     * Deserializes a list of strings in NBT format into a list of SerializableItemStack, optionally without
+     * materializing their ItemStacks.
+     *
+     * @param nbtDataList The list of NBT strings representing the serialized ItemStacks.
+     * @param lazy        Whether the ItemStacks are materialized on first access instead of right away.
+     * @return A list of SerializableItemStack instances.
+     * @throws SerializerException If there is an issue with the deserialization process.
+     * @see #fromNBT(String, boolean)
+     */
+    public static @NotNull List<SerializableItemStack> deserializeItemStacksFromNBT(@NotNull List<String> nbtDataList, boolean lazy) throws SerializerException {
+        List<SerializableItemStack> itemStacks = new ArrayList<>(nbtDataList.size());
         for (String nbtData : nbtDataList) {
-            itemStacks.add(fromNBT(nbtData));
+            itemStacks.add(fromNBT(nbtData, lazy));
         }
         return itemStacks;
     }
 
+    /**
+     * Serializes a list of SerializableItemStack into a list of strings in NBT format in the background.
+     *
+     * <p>The list is split into chunks that are serialized in parallel on {@link MenuExecutors#getExecutor()}.
+     * The order of the input list is preserved, and an element that fails to serialize does not fail the others:
+     * its result is {@code null} and its failure is reported through {@link BulkResult#getFailures()}.
+     * </p>
+     *
+     * <p>The ItemStacks must not be modified while the operation is running.
+     * </p>
+     *
+     * <p>Example usage:
+     * <pre>{@code
+     * SerializableItemStack.serializeItemStacksToNBTAsync(itemStacks).thenAccept(nbtDataList -> {
+     *     // Use the nbtDataList as needed, elements that failed are null
+     * });
+     * }</pre>
+     * </p>
+     *
+     * @param itemStacks The list of SerializableItemStack to be serialized.
+     * @return A future completed with the serialized ItemStacks in NBT format.
+     */
+    public static @NotNull CompletableFuture<BulkResult<String>> serializeItemStacksToNBTAsync(@NotNull List<SerializableItemStack> itemStacks) {
+        return serializeItemStacksToNBTAsync(itemStacks, MenuExecutors.getExecutor());
+    }
+
+    /**
+     * Serializes a list of SerializableItemStack into a list of strings in NBT format on the given executor.
+     *
+     * @param itemStacks The list of SerializableItemStack to be serialized.
+     * @param executor   The executor to serialize the ItemStacks on.
+     * @return A future completed with the serialized ItemStacks in NBT format.
+     * @see #serializeItemStacksToNBTAsync(List)
+     */
+    public static @NotNull CompletableFuture<BulkResult<String>> serializeItemStacksToNBTAsync(@NotNull List<SerializableItemStack> itemStacks, @NotNull Executor executor) {
+        return BulkResult.compute(itemStacks, SerializableItemStack::toString, executor);
+    }
+
+    /**
+     * Deserializes a list of strings in NBT format into a list of SerializableItemStack in the background.
+     *
+     * <p>The list is split into chunks that are deserialized in parallel on {@link MenuExecutors#getExecutor()}.
+     * The order of the input list is preserved, and an element that fails to deserialize does not fail the others:
+     * its result is {@code null} and its failure is reported through {@link BulkResult#getFailures()}.
+     * </p>
+     *
+     * @param nbtDataList The list of NBT strings representing the serialized ItemStacks.
+     * @param lazy        Whether the ItemStacks are materialized on first access instead of right away.
+     * @return A future completed with the deserialized ItemStacks.
+     * @see #fromNBT(String, boolean)
+     */
+    public static @NotNull CompletableFuture<BulkResult<SerializableItemStack>> deserializeItemStacksFromNBTAsync(@NotNull List<String> nbtDataList, boolean lazy) {
+        return deserializeItemStacksFromNBTAsync(nbtDataList, lazy, MenuExecutors.getExecutor());
+    }
+
+    /**
+     * Deserializes a list of strings in NBT format into a list of SerializableItemStack on the given executor.
+     *
+     * @param nbtDataList The list of NBT strings representing the serialized ItemStacks.
+     * @param lazy        Whether the ItemStacks are materialized on first access instead of right away.
+     * @param executor    The executor to deserialize the ItemStacks on.
+     * @return A future completed with the deserialized ItemStacks.
+     * @see #deserializeItemStacksFromNBTAsync(List, boolean)
+     */
+    public static @NotNull CompletableFuture<BulkResult<SerializableItemStack>> deserializeItemStacksFromNBTAsync(@NotNull List<String> nbtDataList, boolean lazy, @NotNull Executor executor) {
+        return BulkResult.compute(nbtDataList, nbtData -> fromNBT(nbtData, lazy), executor);
+    }
+
+    /**
+     * Serializes a list of SerializableItemStack in the binary format.
+     *
+     * <p>The list is written as its varint encoded size followed by every {@link SerializableItemStack}
+     * as written by {@link #write(DataOutput)}.
+     * </p>
+     *
+     * <p>Example usage:
+     * <pre>{@code
+     * try (DataOutputStream output = new DataOutputStream(new FileOutputStream("vault.bin"))) {
+     *     SerializableItemStack.serializeItemStacksToBinary(itemStacks, output);
+     * } catch (IOException e) {
+     *     e.printStackTrace();
+     * }
+     * }</pre>
+     * </p>
+     *
+     * @param itemStacks The list of SerializableItemStack to be serialized.
+     * @param output     The output to write the serialized ItemStacks to.
+     * @throws IOException If an I/O error occurs.
+     */
+    public static void serializeItemStacksToBinary(@NotNull List<SerializableItemStack> itemStacks, @NotNull DataOutput output) throws IOException {
+        BinaryCodec.writeVarInt(output, itemStacks.size());
+        for (SerializableItemStack itemStack : itemStacks) {
+            itemStack.write(output);
+        }
+    }
+
+    /**
+     * Deserializes a list of SerializableItemStack from the binary format.
+     *
+     * @param input The input to read the serialized ItemStacks from.
+     * @return A list of SerializableItemStack instances.
+     * @throws IOException         If an I/O error occurs or the data is malformed.
+     * @throws SerializerException If there is an issue with the deserialization process.
+     * @see #serializeItemStacksToBinary(List, DataOutput)
+     */
+    public static @NotNull List<SerializableItemStack> deserializeItemStacksFromBinary(@NotNull DataInput input) throws IOException, SerializerException {
+        return deserializeItemStacksFromBinary(input, false);
+    }
+
+    /**
+     * Deserializes a list of SerializableItemStack from the binary format, optionally without
+     * materializing their ItemStacks.
+     *
+     * @param input The input to read the serialized ItemStacks from.
+     * @param lazy  Whether the ItemStacks are materialized on first access instead of right away.
+     * @return A list of SerializableItemStack instances.
+     * @throws IOException         If an I/O error occurs or the data is malformed.
+     * @throws SerializerException If there is an issue with the deserialization process.
+     * @see #read(DataInput, boolean)
+     */
+    public static @NotNull List<SerializableItemStack> deserializeItemStacksFromBinary(@NotNull DataInput input, boolean lazy) throws IOException, SerializerException {
+        int size = BinaryCodec.readVarInt(input);
+        if (size < 0) {
+            throw new IOException("Negative list size: " + size);
+        }
+        List<SerializableItemStack> itemStacks = new ArrayList<>(Math.min(size, 1024));
+        for (int i = 0; i < size; i++) {
+            itemStacks.add(read(input, lazy));
+        }
+        return itemStacks;
+    }
+
+    /**
+     * Serializes a list of SerializableItemStack in the binary format to a new ByteBuffer.
+     *
+     * @param itemStacks The list of SerializableItemStack to be serialized.
+     * @return A ByteBuffer holding the serialized ItemStacks, positioned at zero.
+     * @see #serializeItemStacksToBinary(List, DataOutput)
+     */
+    public static @NotNull ByteBuffer serializeItemStacksToByteBuffer(@NotNull List<SerializableItemStack> itemStacks) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            serializeItemStacksToBinary(itemStacks, new DataOutputStream(outputStream));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return ByteBuffer.wrap(outputStream.toByteArray());
+    }
+
+    /**
+     * Deserializes a list of SerializableItemStack in the binary format from a ByteBuffer.
+     *
+     * <p>The position of the buffer is advanced past the read data.
+     * </p>
+     *
+     * @param buffer The buffer to read the serialized ItemStacks from.
+     * @return A list of SerializableItemStack instances.
+     * @throws SerializerException If the data is malformed or there is an issue with the deserialization process.
+     * @see #deserializeItemStacksFromBinary(DataInput)
+     */
+    public static @NotNull List<SerializableItemStack> deserializeItemStacksFromByteBuffer(@NotNull ByteBuffer buffer) throws SerializerException {
+        return deserializeItemStacksFromByteBuffer(buffer, false);
+    }
+
+    /**
+     * Deserializes a list of SerializableItemStack in the binary format from a ByteBuffer, optionally without
+     * materializing their ItemStacks.
+     *
+     * @param buffer The buffer to read the serialized ItemStacks from.
+     * @param lazy   Whether the ItemStacks are materialized on first access instead of right away.
+     * @return A list of SerializableItemStack instances.
+     * @throws SerializerException If the data is malformed or there is an issue with the deserialization process.
+     * @see #read(DataInput, boolean)
+     */
+    public static @NotNull List<SerializableItemStack> deserializeItemStacksFromByteBuffer(@NotNull ByteBuffer buffer, boolean lazy) throws SerializerException {
+        try {
+            return deserializeItemStacksFromBinary(BinaryCodec.newDataInput(buffer), lazy);
+        } catch (IOException e) {
+            throw new SerializerException("Error during deserialization of ItemStacks: " + e.getMessage());
+        }
+    }
+
     /**
      * Retrieves the original ItemStack.
      *
@@ -322,7 +572,7 @@ public class SerializableItemStack implements Serializable, ConfigurationSeriali
      * @return The original ItemStack.
      */
     public ItemStack getItemStack() {
-        return this.itemStack.clone();
+        return this.itemStack.get().clone();
     }
 
     /**
@@ -346,7 +596,25 @@ public class SerializableItemStack implements Serializable, ConfigurationSeriali
      * @return The visual ItemStack.
      */
     public ItemStack getVisualItemStack() {
-        return this.visualItemStack.clone();
+        return this.visualItemStack.getOr(this.itemStack).clone();
+    }
+
+    /**
+     * Retrieves the visual ItemStack without copying it.
+     *
+     * <p>Unlike {@link #getVisualItemStack()}, the returned {@link ItemStack} is the instance held by this
+     * {@link SerializableItemStack} and is shared with every caller, so it must be treated as read-only.
+     * Use {@link #setVisualItemStack(ItemStack)} to change it.
+     * </p>
+     *
+     * <p>This is meant for rendering: {@link org.bukkit.inventory.Inventory#setItem(int, ItemStack)} copies
+     * the item into the inventory on its own, so the visual item can be handed to it without a defensive clone.
+     * </p>
+     *
+     * @return The shared visual ItemStack.
+     */
+    public ItemStack getSharedVisualItemStack() {
+        return this.visualItemStack.getOr(this.itemStack);
     }
 
     /**
@@ -396,7 +664,7 @@ public class SerializableItemStack implements Serializable, ConfigurationSeriali
      * @return The updated SerializableItemStack instance.
      */
     public SerializableItemStack setItemStack(@NotNull ItemStack itemStack) {
-        this.itemStack = itemStack;
+        this.itemStack = LazyItemStack.of(itemStack);
         return this;
     }
 
@@ -419,11 +687,15 @@ public class SerializableItemStack implements Serializable, ConfigurationSeriali
      * }</pre>
      * </p>
      *
+     * <p>The given ItemStack is stored as is and handed out by {@link #getSharedVisualItemStack()},
+     * so it should not be modified after it has been set.
+     * </p>
+     *
      * @param visualItemStack The new visual ItemStack to set.
      * @return The updated SerializableItemStack instance.
      */
     public SerializableItemStack setVisualItemStack(@NotNull ItemStack visualItemStack) {
-        this.visualItemStack = visualItemStack;
+        this.visualItemStack = LazyItemStack.of(visualItemStack);
         return this;
     }
 
@@ -506,6 +778,9 @@ public class SerializableItemStack implements Serializable, ConfigurationSeriali
     /**
      * Custom deserialization method using NBT serialization.
      *
+     * <p>The ItemStacks are materialized on first access, see {@link #fromNBT(String, boolean)}.
+     * </p>
+     *
      * @param inputStream The ObjectInputStream to read the serialized data from.
      * @throws IOException            If an I/O error occurs during deserialization.
      * @throws ClassNotFoundException If the class of the serialized object cannot be found.
@@ -514,48 +789,265 @@ public class SerializableItemStack implements Serializable, ConfigurationSeriali
     @Serial
     private void readObject(@NotNull ObjectInputStream inputStream) throws IOException, ClassNotFoundException, SerializerException {
         try {
-            ObjectMap<String, String> data = jsonToMap(inputStream.readUTF());
+            SerializableItemStack serializableItemStack = fromNBT((String) inputStream.readObject(), true);
+            this.itemStack = serializableItemStack.itemStack;
+            this.visualItemStack = serializableItemStack.visualItemStack;
+            this.amount = serializableItemStack.amount;
+            this.customData = serializableItemStack.customData;
+        } catch (Exception e) {
+            throw new SerializerException("Error during deserialization of ItemStack: " + e.getMessage());
+        }
+    }
 
-            //noinspection DuplicatedCode
-            ItemStack itemStack = null;
-            if (data.containsKey("itemStack")) {
-                ReadWriteNBT readWriteNBT = NBT.parseNBT(data.get("itemStack"));
-                itemStack = NBT.itemStackFromNBT(readWriteNBT);
-            }
-            if (itemStack == null) {
-                throw new SerializerException("Could not deserialize item stack");
-            }
+    private static @NotNull ItemStackCache.Parsed parse(@NotNull ObjectMap<String, String> data) throws SerializerException {
+        String itemStackNBT = data.get("itemStack");
+        if (itemStackNBT == null) {
+            throw new SerializerException("Could not deserialize item stack");
+        }
+        LazyItemStack itemStack = LazyItemStack.ofNBT(itemStackNBT);
+        String visualItemStackNBT = data.get("visualItemStack");
+        LazyItemStack visualItemStack = visualItemStackNBT != null ? LazyItemStack.ofNBT(visualItemStackNBT) : itemStack;
 
-            ItemStack visualItemStack = null;
-            if (data.containsKey("visualItemStack")) {
-                ReadWriteNBT readWriteNBT = NBT.parseNBT(data.get("visualItemStack"));
-                visualItemStack = NBT.itemStackFromNBT(readWriteNBT);
-            }
+        String amount = data.get("amount");
+        String customData = data.get("customData");
+        return new ItemStackCache.Parsed(
+                itemStack,
+                visualItemStack,
+                amount != null ? new BigInteger(amount) : BigInteger.ONE,
+                customData != null ? JsonCodec.read(customData) : Map.of()
+        );
+    }
+
+    private static @NotNull SerializableItemStack fromParsed(@NotNull ItemStackCache.Parsed parsed, boolean lazy) throws SerializerException {
+        LazyItemStack itemStack = parsed.itemStack();
+        LazyItemStack visualItemStack = parsed.visualItemStack();
+        if (!lazy) {
+            itemStack.load();
+            visualItemStack = visualItemStack.loadOr(itemStack);
+        }
+
+        SerializableItemStack serializableItemStack = new SerializableItemStack(itemStack, visualItemStack, parsed.amount());
+        serializableItemStack.customData.putAll(parsed.customData());
+        return serializableItemStack;
+    }
+
+    /**
+     * Writes this SerializableItemStack in the binary format.
+     *
+     * <p>Example usage:
+     * <pre>{@code
+     * try (DataOutputStream output = new DataOutputStream(new FileOutputStream("itemstack.bin"))) {
+     *     serializableItemStack.write(output);
+     * } catch (IOException e) {
+     *     e.printStackTrace();
+     * }
+     * }</pre>
+     * </p>
+     *
+     * @param output The output to write the serialized data to.
+     * @throws IOException If an I/O error occurs.
+     */
+    public void write(@NotNull DataOutput output) throws IOException {
+        long start = System.nanoTime();
+        ItemEncodeEvent event = new ItemEncodeEvent();
+        event.begin();
+        int written = output instanceof DataOutputStream dataOutputStream ? dataOutputStream.size() : -1;
+        boolean sameVisual = this.visualItemStack.isSameAs(this.itemStack);
+        boolean bigAmount = !BinaryCodec.fitsInLong(this.amount);
+        output.writeByte(BINARY_VERSION);
+        output.writeByte((sameVisual ? FLAG_SAME_VISUAL : 0) | (bigAmount ? FLAG_BIG_AMOUNT : 0));
+        BinaryCodec.writeBytes(output, this.itemStack.toBytes());
+        if (!sameVisual) {
+            BinaryCodec.writeBytes(output, this.visualItemStack.toBytes());
+        }
+        BinaryCodec.writeAmount(output, this.amount);
+        BinaryCodec.writeVarInt(output, this.customData.size());
+        for (Map.Entry<String, String> entry : this.customData.entrySet()) {
+            BinaryCodec.writeString(output, entry.getKey());
+            BinaryCodec.writeString(output, entry.getValue());
+        }
+        MenuMetrics.ITEM_ENCODE.recordSince(start);
+        int bytes = written != -1 ? ((DataOutputStream) output).size() - written : -1;
+        if (bytes != -1) {
+            MenuMetrics.ITEM_ENCODE_SIZE.record(bytes);
+        }
+        if (event.shouldCommit()) {
+            event.format = "binary";
+            event.bytes = bytes;
+            event.itemStacks = sameVisual ? 1 : 2;
+            event.commit();
+        }
+    }
 
-            if (visualItemStack == null) {
-                visualItemStack = itemStack.clone();
+    /**
+     * Reads a SerializableItemStack from the binary format.
+     *
+     * <p>Example usage:
+     * <pre>{@code
+     * try (DataInputStream input = new DataInputStream(new FileInputStream("itemstack.bin"))) {
+     *     SerializableItemStack serializableItemStack = SerializableItemStack.read(input);
+     *     // Use the serializableItemStack as needed
+     * } catch (IOException | SerializerException e) {
+     *     e.printStackTrace();
+     * }
+     * }</pre>
+     * </p>
+     *
+     * @param input The input to read the serialized data from.
+     * @return A new SerializableItemStack instance representing the deserialized ItemStack.
+     * @throws IOException         If an I/O error occurs or the data is malformed.
+     * @throws SerializerException If the format version is not supported or an ItemStack could not be deserialized.
+     * @see #write(DataOutput)
+     */
+    public static @NotNull SerializableItemStack read(@NotNull DataInput input) throws IOException, SerializerException {
+        return read(input, false);
+    }
+
+    /**
+     * Reads a SerializableItemStack from the binary format, optionally without materializing its ItemStacks.
+     *
+     * <p>In lazy mode the binary NBT of the ItemStacks is kept as is and materialized on first access,
+     * see {@link #fromNBT(String, boolean)}.
+     * </p>
+     *
+     * @param input The input to read the serialized data from.
+     * @param lazy  Whether the ItemStacks are materialized on first access instead of right away.
+     * @return A new SerializableItemStack instance representing the deserialized ItemStack.
+     * @throws IOException         If an I/O error occurs or the data is malformed.
+     * @throws SerializerException If the format version is not supported or an ItemStack could not be deserialized.
+     * @see #write(DataOutput)
+     */
+    public static @NotNull SerializableItemStack read(@NotNull DataInput input, boolean lazy) throws IOException, SerializerException {
+        long start = System.nanoTime();
+        ItemDecodeEvent event = new ItemDecodeEvent();
+        event.begin();
+        SerializableItemStack serializableItemStack = decode(input, lazy);
+        MenuMetrics.ITEM_DECODE.recordSince(start);
+        commit(event, "binary", -1, serializableItemStack, lazy);
+        return serializableItemStack;
+    }
+
+    private static @NotNull SerializableItemStack decode(@NotNull DataInput input, boolean lazy) throws IOException, SerializerException {
+        int version = input.readUnsignedByte();
+        if (version != BINARY_VERSION) {
+            throw new SerializerException("Unsupported binary format version: " + version);
+        }
+        int flags = input.readUnsignedByte();
+        LazyItemStack itemStack = LazyItemStack.ofBytes(BinaryCodec.readBytes(input));
+        LazyItemStack visualItemStack = (flags & FLAG_SAME_VISUAL) != 0 ? itemStack : LazyItemStack.ofBytes(BinaryCodec.readBytes(input));
+        if (!lazy) {
+            itemStack.load();
+            visualItemStack = visualItemStack.loadOr(itemStack);
+        }
+        BigInteger amount = BinaryCodec.readAmount(input, (flags & FLAG_BIG_AMOUNT) != 0);
+
+        SerializableItemStack serializableItemStack = new SerializableItemStack(itemStack, visualItemStack, amount);
+        int size = BinaryCodec.readVarInt(input);
+        for (int i = 0; i < size; i++) {
+            String key = BinaryCodec.readString(input);
+            if (key == null) {
+                throw new IOException("Custom data key can not be null");
             }
+            serializableItemStack.addData(key, BinaryCodec.readString(input));
+        }
+        return serializableItemStack;
+    }
+
+    private static void commit(@NotNull ItemDecodeEvent event, @NotNull String format, long bytes,
+                               @NotNull SerializableItemStack serializableItemStack, boolean lazy) {
+        if (event.shouldCommit()) {
+            event.format = format;
+            event.bytes = bytes;
+            event.itemStacks = serializableItemStack.visualItemStack.isSameAs(serializableItemStack.itemStack) ? 1 : 2;
+            event.lazy = lazy;
+            event.commit();
+        }
+    }
 
-            BigInteger amount = new BigInteger(data.getOrDefault("amount", "1"));
+    /**
+     * Writes this SerializableItemStack in the binary format to a new ByteBuffer.
+     *
+     * @return A ByteBuffer holding the serialized data, positioned at zero.
+     * @see #write(DataOutput)
+     */
+    public @NotNull ByteBuffer toByteBuffer() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(512);
+        try {
+            write(new DataOutputStream(outputStream));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return ByteBuffer.wrap(outputStream.toByteArray());
+    }
 
-            this.itemStack = itemStack;
-            this.visualItemStack = visualItemStack;
-            this.amount = amount;
-            this.customData = jsonToMap(data.getOrDefault("customData", "{}"));
-        } catch (Exception e) {
+    /**
+     * Reads a SerializableItemStack in the binary format from a ByteBuffer.
+     *
+     * <p>The position of the buffer is advanced past the read data.
+     * </p>
+     *
+     * @param buffer The buffer to read the serialized data from.
+     * @return A new SerializableItemStack instance representing the deserialized ItemStack.
+     * @throws SerializerException If the data is malformed or there is an issue with the deserialization process.
+     * @see #read(DataInput)
+     */
+    public static @NotNull SerializableItemStack fromByteBuffer(@NotNull ByteBuffer buffer) throws SerializerException {
+        return fromByteBuffer(buffer, false);
+    }
+
+    /**
+     * Reads a SerializableItemStack in the binary format from a ByteBuffer, optionally without
+     * materializing its ItemStacks.
+     *
+     * @param buffer The buffer to read the serialized data from.
+     * @param lazy   Whether the ItemStacks are materialized on first access instead of right away.
+     * @return A new SerializableItemStack instance representing the deserialized ItemStack.
+     * @throws SerializerException If the data is malformed or there is an issue with the deserialization process.
+     * @see #read(DataInput, boolean)
+     */
+    public static @NotNull SerializableItemStack fromByteBuffer(@NotNull ByteBuffer buffer, boolean lazy) throws SerializerException {
+        int position = buffer.position();
+        long start = System.nanoTime();
+        ItemDecodeEvent event = new ItemDecodeEvent();
+        event.begin();
+        try {
+            SerializableItemStack serializableItemStack = decode(BinaryCodec.newDataInput(buffer), lazy);
+            MenuMetrics.ITEM_DECODE.recordSince(start);
+            MenuMetrics.ITEM_DECODE_SIZE.record(buffer.position() - position);
+            commit(event, "binary", buffer.position() - position, serializableItemStack, lazy);
+            return serializableItemStack;
+        } catch (IOException e) {
             throw new SerializerException("Error during deserialization of ItemStack: " + e.getMessage());
         }
     }
 
     @Override
     public String toString() {
-        return mapToJson(
-                new HashObjectMap<String, String>()
-                        .append("itemStack", NBT.itemStackToNBT(this.itemStack).toString())
-                        .append("visualItemStack", NBT.itemStackToNBT(this.visualItemStack).toString())
-                        .append("amount", this.amount.toString())
-                        .append("customData", mapToJson(this.customData))
+        long start = System.nanoTime();
+        ItemEncodeEvent event = new ItemEncodeEvent();
+        event.begin();
+        ObjectMap<String, String> data = new HashObjectMap<String, String>()
+                .append("itemStack", this.itemStack.toNBT());
+        boolean sameVisual = this.visualItemStack.isSameAs(this.itemStack);
+        if (!sameVisual) {
+            data.append("visualItemStack", this.visualItemStack.toNBT());
+        }
+        String json = JsonCodec.write(data
+                .append("amount", this.amount.toString())
+                .append("customData", JsonCodec.write(this.customData))
         );
+        MenuMetrics.ITEM_ENCODE.recordSince(start);
+        int bytes = MenuMetrics.isEnabled() || event.shouldCommit() ? BinaryCodec.utf8Length(json) : -1;
+        if (bytes != -1) {
+            MenuMetrics.ITEM_ENCODE_SIZE.record(bytes);
+        }
+        if (event.shouldCommit()) {
+            event.format = "nbt";
+            event.bytes = bytes;
+            event.itemStacks = sameVisual ? 1 : 2;
+            event.commit();
+        }
+        return json;
     }
 
     /**
@@ -600,32 +1092,4 @@ public class SerializableItemStack implements Serializable, ConfigurationSeriali
             return null;
         }
     }
-
-    private static @NotNull String mapToJson(@NotNull Map<String, String> map) {
-        StringBuilder jsonString = new StringBuilder("{");
-        for (Map.Entry<String, String> entry : map.entrySet()) {
-            jsonString.append("\"").append(entry.getKey()).append("\":");
-            jsonString.append("\"").append(entry.getValue()).append("\"");
-            jsonString.append(",");
-        }
-
-        if (jsonString.length() > 1) {
-            jsonString.deleteCharAt(jsonString.length() - 1);
-        }
-        jsonString.append("}");
-        return jsonString.toString();
-    }
-
-    private static @NotNull ObjectMap<String, String> jsonToMap(String jsonString) {
-        ObjectMap<String, String> map = new HashObjectMap<>();
-        jsonString = jsonString.substring(1, jsonString.length() - 1);
-        String[] pairs = jsonString.split(",");
-        for (String pair : pairs) {
-            String[] keyValue = pair.split(":");
-            String key = keyValue[0].replace("\"", "").trim();
-            String value = keyValue[1].replace("\"", "").trim();
-            map.put(key, value);
-        }
-        return map;
-    }
-}
\ No newline at end of file
+}
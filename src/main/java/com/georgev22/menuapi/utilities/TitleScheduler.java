@@ -0,0 +1,133 @@
+package com.georgev22.menuapi.utilities;
+
+import com.georgev22.library.minecraft.BukkitMinecraftUtils.MinecraftVersion;
+import com.georgev22.menuapi.api.inventory.MenuInventoryHolder;
+import com.georgev22.menuapi.metrics.MenuMetrics;
+import com.georgev22.menuapi.metrics.TitleUpdateEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryView;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Coalesces menu title updates so that each player receives at most one title update per tick.
+ *
+ * <p>Titles scheduled through {@link #schedule(Player, String)} are kept per player until the next tick,
+ * where only the last scheduled title of each player is applied. A title that equals the title already shown
+ * is not sent at all, so the client only receives the window packet and the inventory resync it implies
+ * for visible changes.
+ * </p>
+ *
+ * <p>Scheduling is thread-safe; the titles are always applied on the main thread.
+ * </p>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * // Both calls happen in the same tick, the player only receives "Balance: 150"
+ * TitleScheduler.schedule(player, "Balance: 100");
+ * TitleScheduler.schedule(player, "Balance: 150");
+ * }</pre>
+ * </p>
+ */
+public final class TitleScheduler {
+
+    private static final JavaPlugin PLUGIN = JavaPlugin.getProvidingPlugin(TitleScheduler.class);
+
+    private static final Map<UUID, String> PENDING = new ConcurrentHashMap<>();
+    private static final AtomicBoolean FLUSH_SCHEDULED = new AtomicBoolean();
+
+    private TitleScheduler() {
+    }
+
+    /**
+     * Schedules a title update for the next tick.
+     * <p>
+     * If another title is scheduled for the same player before the next tick, it replaces this one.
+     *
+     * @param player the player whose menu title will be updated.
+     * @param title  the new title.
+     */
+    public static void schedule(@NotNull Player player, @NotNull String title) {
+        PENDING.put(player.getUniqueId(), title);
+        if (FLUSH_SCHEDULED.compareAndSet(false, true)) {
+            Bukkit.getScheduler().runTask(PLUGIN, TitleScheduler::flush);
+        }
+    }
+
+    /**
+     * Cancels the pending title update of a player, if any.
+     *
+     * @param player the player whose pending title update will be cancelled.
+     */
+    public static void cancel(@NotNull Player player) {
+        PENDING.remove(player.getUniqueId());
+    }
+
+    /**
+     * Applies every pending title update.
+     * <p>
+     * This is called once per tick while there are pending updates, and must be called on the main thread.
+     */
+    public static void flush() {
+        FLUSH_SCHEDULED.set(false);
+        for (UUID uuid : PENDING.keySet()) {
+            // Removing by key takes the latest title, even if it was replaced while iterating.
+            String title = PENDING.remove(uuid);
+            Player player = Bukkit.getPlayer(uuid);
+            if (title != null && player != null && player.isOnline()) {
+                update(player, title);
+            }
+        }
+    }
+
+    /**
+     * Updates the title of the menu the player is viewing right away.
+     * <p>
+     * Nothing is sent if the player is not viewing a menu, or if the title is already shown.
+     * The title is recorded on the {@link MenuInventoryHolder} of the menu as it is sent, cut to 32 characters
+     * on servers before 1.20.
+     *
+     * @param player the player whose menu title will be updated.
+     * @param title  the new title.
+     */
+    @SuppressWarnings("deprecation")
+    public static void update(@NotNull Player player, @NotNull String title) {
+        InventoryView inventoryView = player.getOpenInventory();
+        //noinspection ConstantValue
+        if (inventoryView == null) return;
+        Inventory inventory = inventoryView.getTopInventory();
+        //noinspection ConstantValue
+        if (inventory == null) return;
+        if (!(inventory.getHolder() instanceof MenuInventoryHolder menuInventoryHolder)) return;
+        boolean legacy = !MinecraftVersion.getCurrentVersion().isAbove(MinecraftVersion.V1_19_R3);
+        // The legacy path cuts the title, the title recorded and compared is the one the client shows.
+        //noinspection deprecation
+        title = legacy ? InventoryUpdate.toLegacyTitle(title) : title;
+        // A shared inventory has no title of its own, its viewers are always updated.
+        if (title.equals(menuInventoryHolder.getTitle())) return;
+
+        long start = System.nanoTime();
+        TitleUpdateEvent event = new TitleUpdateEvent();
+        event.begin();
+        if (!legacy) {
+            inventoryView.setTitle(title);
+        } else {
+            //noinspection deprecation
+            InventoryUpdate.updateInventory(player, title);
+        }
+        menuInventoryHolder.setTitle(title);
+        MenuMetrics.TITLE_UPDATE.recordSince(start);
+        if (event.shouldCommit()) {
+            event.player = player.getName();
+            event.title = title;
+            event.commit();
+        }
+    }
+}